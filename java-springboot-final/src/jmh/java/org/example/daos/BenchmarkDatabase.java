@@ -0,0 +1,186 @@
+package org.example.daos;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark state holding an embedded MariaDB instance migrated like the application's database
+ * and a larger catalog, and DAOs sharing one JDBC template over a pool tuned like the application's.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+    /**
+     * The number of products in the seeded catalog.
+     */
+    public static final int PRODUCT_COUNT = 10_000;
+
+    /**
+     * The number of orders in the seeded database.
+     */
+    public static final int ORDER_COUNT = 2_000;
+
+    /**
+     * The number of items per seeded order.
+     */
+    public static final int ITEMS_PER_ORDER = 5;
+
+    /**
+     * The embedded database.
+     */
+    private DB db;
+
+    /**
+     * The pooled data source for the embedded database.
+     */
+    public HikariDataSource dataSource;
+
+    /**
+     * The product data access object.
+     */
+    public ProductDao productDao;
+
+    /**
+     * The order data access object.
+     */
+    public OrderDao orderDao;
+
+    /**
+     * The order item data access object.
+     */
+    public OrderItemDao orderItemDao;
+
+    /**
+     * The user data access object.
+     */
+    public UserDao userDao;
+
+    /**
+     * Starts the embedded database, creates the schema with the application's migrations and seeds it.
+     *
+     * @throws ManagedProcessException If the embedded database cannot be started.
+     * @throws SQLException If the test data cannot be inserted.
+     * @throws IOException If the test data script cannot be read.
+     */
+    @Setup
+    public void start() throws ManagedProcessException, SQLException, IOException {
+        var configBuilder = DBConfigurationBuilder.newBuilder();
+        configBuilder.setPort(0);
+        db = DB.newEmbeddedDB(configBuilder.build());
+        db.start();
+        db.createDB("bench", "root", "");
+
+        dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url("jdbc:mariadb://localhost:" + db.getConfiguration().getPort() + "/bench")
+            .username("root")
+            .build();
+        dataSource.setMaximumPoolSize(20);
+        dataSource.addDataSourceProperty("cachePrepStmts", "true");
+        dataSource.addDataSourceProperty("prepStmtCacheSize", "250");
+        dataSource.addDataSourceProperty("useServerPrepStmts", "true");
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        try (Connection connection = dataSource.getConnection();
+             var reader = new InputStreamReader(BenchmarkDatabase.class.getResource("/create-database.sql").openStream())) {
+            var sr = new ScriptRunner(connection);
+            sr.setStopOnError(true);
+            sr.setLogWriter(null);
+            sr.setErrorLogWriter(null);
+            sr.runScript(reader);
+        }
+        seed(new JdbcTemplate(dataSource));
+
+        PasswordEncoder passwordEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        var namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        productDao = new ProductDao(jdbcTemplate, namedParameterJdbcTemplate, event -> { });
+        orderDao = new OrderDao(jdbcTemplate, namedParameterJdbcTemplate, event -> { });
+        orderItemDao = new OrderItemDao(jdbcTemplate, namedParameterJdbcTemplate, event -> { });
+        userDao = new UserDao(jdbcTemplate, passwordEncoder, event -> { });
+    }
+
+    /**
+     * Closes the data source and stops the embedded database.
+     *
+     * @throws ManagedProcessException If the embedded database cannot be stopped.
+     */
+    @TearDown
+    public void stop() throws ManagedProcessException {
+        dataSource.close();
+        db.stop();
+    }
+
+    /**
+     * Deletes every row a write benchmark added on top of the seeded data.
+     */
+    public void deleteWrittenRows() {
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM order_items WHERE id > ?", ORDER_COUNT * ITEMS_PER_ORDER);
+        jdbcTemplate.update("DELETE FROM orders WHERE id > ?", ORDER_COUNT);
+        jdbcTemplate.update("DELETE FROM products WHERE id > ?", PRODUCT_COUNT);
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'bench-new-%'");
+    }
+
+    /**
+     * Replaces the sample rows of the test data script with a larger, predictable data set.
+     *
+     * @param jdbcTemplate The JDBC template for the embedded database.
+     */
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("ALTER TABLE order_items AUTO_INCREMENT = 1");
+        jdbcTemplate.update("ALTER TABLE orders AUTO_INCREMENT = 1");
+        jdbcTemplate.update("ALTER TABLE products AUTO_INCREMENT = 1");
+        jdbcTemplate.update("INSERT INTO users (username, password) VALUES ('bench-user', 'bench')");
+
+        List<Object[]> products = new ArrayList<>(PRODUCT_COUNT);
+        for (int i = 1; i <= PRODUCT_COUNT; i++) {
+            products.add(new Object[]{"Product " + i, BigDecimal.valueOf(i % 5000 + 1, 2)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (name, price) VALUES (?, ?)", products);
+
+        List<Object[]> orders = new ArrayList<>(ORDER_COUNT);
+        for (int i = 1; i <= ORDER_COUNT; i++) {
+            orders.add(new Object[]{i % 2 == 0 ? "test-admin" : "bench-user"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (username) VALUES (?)", orders);
+
+        List<Object[]> orderItems = new ArrayList<>(ORDER_COUNT * ITEMS_PER_ORDER);
+        for (int i = 0; i < ORDER_COUNT * ITEMS_PER_ORDER; i++) {
+            orderItems.add(new Object[]{i / ITEMS_PER_ORDER + 1, i % PRODUCT_COUNT + 1, i % 3 + 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO order_items (order_id, product_id, quantity) VALUES (?, ?, ?)", orderItems);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.daos;
+
+import org.example.models.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the order data access object.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderDaoBenchmark {
+    /**
+     * The id of the order read by the next single-row lookup.
+     */
+    private int nextId;
+
+    /**
+     * Looks up orders one at a time, cycling through all orders.
+     *
+     * @param database The benchmark database.
+     * @return The order found.
+     */
+    @Benchmark
+    public Order getOrderById(BenchmarkDatabase database) {
+        nextId = nextId % BenchmarkDatabase.ORDER_COUNT + 1;
+        return database.orderDao.getOrderById(nextId);
+    }
+
+    /**
+     * Reads all orders.
+     *
+     * @param database The benchmark database.
+     * @return All orders.
+     */
+    @Benchmark
+    public List<Order> getOrders(BenchmarkDatabase database) {
+        return database.orderDao.getOrders();
+    }
+
+    /**
+     * Reads the orders of one user.
+     *
+     * @param database The benchmark database.
+     * @return The orders of the user.
+     */
+    @Benchmark
+    public List<Order> getOrdersByUsername(BenchmarkDatabase database) {
+        return database.orderDao.getOrdersByUsername("bench-user");
+    }
+
+    /**
+     * Inserts an order.
+     *
+     * @param database The benchmark database.
+     * @return The order created.
+     */
+    @Benchmark
+    public Order createOrder(BenchmarkDatabase database) {
+        return database.orderDao.createOrder(new Order(0, "bench-user"));
+    }
+
+    /**
+     * Removes the rows inserted during the iteration.
+     *
+     * @param database The benchmark database.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteWrittenRows(BenchmarkDatabase database) {
+        database.deleteWrittenRows();
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.daos;
+
+import org.example.models.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the order item data access object.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderItemDaoBenchmark {
+    /**
+     * The number of order items inserted by each batch insert.
+     */
+    private static final int BATCH_SIZE = 50;
+
+    /**
+     * The id of the row read by the next single-row lookup.
+     */
+    private int nextId;
+
+    /**
+     * Looks up order items one at a time, cycling through all order items.
+     *
+     * @param database The benchmark database.
+     * @return The order item found.
+     */
+    @Benchmark
+    public OrderItem getOrderItemById(BenchmarkDatabase database) {
+        nextId = nextId % (BenchmarkDatabase.ORDER_COUNT * BenchmarkDatabase.ITEMS_PER_ORDER) + 1;
+        return database.orderItemDao.getOrderItemById(nextId);
+    }
+
+    /**
+     * Reads all order items.
+     *
+     * @param database The benchmark database.
+     * @return All order items.
+     */
+    @Benchmark
+    public List<OrderItem> getOrderItems(BenchmarkDatabase database) {
+        return database.orderItemDao.getOrderItems();
+    }
+
+    /**
+     * Reads the items of one order, cycling through all orders.
+     *
+     * @param database The benchmark database.
+     * @return The items of the order.
+     */
+    @Benchmark
+    public List<OrderItem> getOrderItemsByOrderId(BenchmarkDatabase database) {
+        nextId = nextId % BenchmarkDatabase.ORDER_COUNT + 1;
+        return database.orderItemDao.getOrderItemsByOrderId((long) nextId);
+    }
+
+    /**
+     * Inserts an order item.
+     *
+     * @param database The benchmark database.
+     * @return The order item created.
+     */
+    @Benchmark
+    public OrderItem createOrderItem(BenchmarkDatabase database) {
+        return database.orderItemDao.createOrderItem(new OrderItem(0, 1, 1, 1));
+    }
+
+    /**
+     * Inserts a batch of order items.
+     *
+     * @param database The benchmark database.
+     * @return The order items created.
+     */
+    @Benchmark
+    public List<OrderItem> createOrderItems(BenchmarkDatabase database) {
+        List<OrderItem> orderItems = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= BATCH_SIZE; i++) {
+            orderItems.add(new OrderItem(0, 1, i, 1));
+        }
+        return database.orderItemDao.createOrderItems(orderItems);
+    }
+
+    /**
+     * Removes the rows inserted during the iteration.
+     *
+     * @param database The benchmark database.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteWrittenRows(BenchmarkDatabase database) {
+        database.deleteWrittenRows();
+    }
+}
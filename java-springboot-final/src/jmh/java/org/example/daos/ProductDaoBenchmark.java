@@ -0,0 +1,90 @@
+package org.example.daos;
+
+import org.example.models.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the product data access object.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ProductDaoBenchmark {
+    /**
+     * The id of the product read by the next single-row lookup.
+     */
+    private int nextId;
+
+    /**
+     * Looks up products one at a time, cycling through the whole catalog.
+     *
+     * @param database The benchmark database.
+     * @return The product found.
+     */
+    @Benchmark
+    public Product getProductById(BenchmarkDatabase database) {
+        nextId = nextId % BenchmarkDatabase.PRODUCT_COUNT + 1;
+        return database.productDao.getProductById(nextId);
+    }
+
+    /**
+     * Reads the whole catalog.
+     *
+     * @param database The benchmark database.
+     * @return All products.
+     */
+    @Benchmark
+    public List<Product> getProducts(BenchmarkDatabase database) {
+        return database.productDao.getProducts();
+    }
+
+    /**
+     * Reads one page of the catalog with keyset pagination.
+     *
+     * @param database The benchmark database.
+     * @return A page of products.
+     */
+    @Benchmark
+    public List<Product> getProductsAfter(BenchmarkDatabase database) {
+        nextId = (nextId + 50) % BenchmarkDatabase.PRODUCT_COUNT;
+        return database.productDao.getProductsAfter(nextId, 50);
+    }
+
+    /**
+     * Inserts a product.
+     *
+     * @param database The benchmark database.
+     * @return The product created.
+     */
+    @Benchmark
+    public Product createProduct(BenchmarkDatabase database) {
+        return database.productDao.createProduct(new Product(0, "Benchmark product", new BigDecimal("9.99")));
+    }
+
+    /**
+     * Removes the rows inserted during the iteration.
+     *
+     * @param database The benchmark database.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteWrittenRows(BenchmarkDatabase database) {
+        database.deleteWrittenRows();
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.daos;
+
+import org.example.models.Order;
+import org.example.models.OrderItem;
+import org.example.models.Product;
+import org.example.models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the row mappers of the data access objects. Each mapper is called
+ * repeatedly on a row that has already been fetched, so only the mapping is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMapperBenchmark {
+    /**
+     * The connection the rows were fetched with.
+     */
+    private Connection connection;
+
+    /**
+     * A fetched row of the products table.
+     */
+    private ResultSet productRow;
+
+    /**
+     * A fetched row of the orders table.
+     */
+    private ResultSet orderRow;
+
+    /**
+     * A fetched row of the order_items table.
+     */
+    private ResultSet orderItemRow;
+
+    /**
+     * A fetched row of the users table.
+     */
+    private ResultSet userRow;
+
+    /**
+     * Fetches one row of every table.
+     *
+     * @param database The benchmark database.
+     * @throws SQLException If a row cannot be fetched.
+     */
+    @Setup
+    public void fetchRows(BenchmarkDatabase database) throws SQLException {
+        connection = database.dataSource.getConnection();
+        productRow = fetchFirstRow("SELECT * FROM products LIMIT 1");
+        orderRow = fetchFirstRow("SELECT * FROM orders LIMIT 1");
+        orderItemRow = fetchFirstRow("SELECT * FROM order_items LIMIT 1");
+        userRow = fetchFirstRow("SELECT * FROM users LIMIT 1");
+    }
+
+    /**
+     * Closes the connection and with it the fetched rows.
+     *
+     * @throws SQLException If the connection cannot be closed.
+     */
+    @TearDown
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * Maps a product row.
+     *
+     * @param database The benchmark database.
+     * @return The mapped product.
+     * @throws SQLException If the row cannot be read.
+     */
+    @Benchmark
+    public Product mapToProduct(BenchmarkDatabase database) throws SQLException {
+        return database.productDao.mapToProduct(productRow, 1);
+    }
+
+    /**
+     * Maps an order row.
+     *
+     * @param database The benchmark database.
+     * @return The mapped order.
+     * @throws SQLException If the row cannot be read.
+     */
+    @Benchmark
+    public Order mapToOrder(BenchmarkDatabase database) throws SQLException {
+        return database.orderDao.mapToOrder(orderRow, 1);
+    }
+
+    /**
+     * Maps an order item row.
+     *
+     * @param database The benchmark database.
+     * @return The mapped order item.
+     * @throws SQLException If the row cannot be read.
+     */
+    @Benchmark
+    public OrderItem mapToOrderItem(BenchmarkDatabase database) throws SQLException {
+        return database.orderItemDao.mapToOrderItem(orderItemRow, 1);
+    }
+
+    /**
+     * Maps a user row.
+     *
+     * @param database The benchmark database.
+     * @return The mapped user.
+     * @throws SQLException If the row cannot be read.
+     */
+    @Benchmark
+    public User mapToUser(BenchmarkDatabase database) throws SQLException {
+        return database.userDao.mapToUser(userRow, 1);
+    }
+
+    /**
+     * Runs a query and moves to its first row.
+     *
+     * @param sql The query to run.
+     * @return The result set positioned on its first row.
+     * @throws SQLException If the query fails.
+     */
+    private ResultSet fetchFirstRow(String sql) throws SQLException {
+        ResultSet rs = connection.createStatement().executeQuery(sql);
+        rs.next();
+        return rs;
+    }
+}
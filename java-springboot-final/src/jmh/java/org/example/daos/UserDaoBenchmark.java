@@ -0,0 +1,99 @@
+package org.example.daos;
+
+import org.example.models.User;
+import org.example.models.UserWithRoles;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the user data access object.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UserDaoBenchmark {
+    /**
+     * The number of users created so far, used to keep new usernames unique.
+     */
+    private int created;
+
+    /**
+     * Reads all users.
+     *
+     * @param database The benchmark database.
+     * @return All users.
+     */
+    @Benchmark
+    public List<User> getUsers(BenchmarkDatabase database) {
+        return database.userDao.getUsers();
+    }
+
+    /**
+     * Looks up a user by username.
+     *
+     * @param database The benchmark database.
+     * @return The user found.
+     */
+    @Benchmark
+    public User getUserByUsername(BenchmarkDatabase database) {
+        return database.userDao.getUserByUsername("test-admin");
+    }
+
+    /**
+     * Looks up a user together with their roles.
+     *
+     * @param database The benchmark database.
+     * @return The user with their roles.
+     */
+    @Benchmark
+    public UserWithRoles getUserWithRoles(BenchmarkDatabase database) {
+        return database.userDao.getUserWithRoles("test-admin");
+    }
+
+    /**
+     * Looks up the roles of a user.
+     *
+     * @param database The benchmark database.
+     * @return The roles of the user.
+     */
+    @Benchmark
+    public List<String> getRoles(BenchmarkDatabase database) {
+        return database.userDao.getRoles("test-admin");
+    }
+
+    /**
+     * Inserts a user.
+     *
+     * @param database The benchmark database.
+     * @return The user created.
+     */
+    @Benchmark
+    public User createUser(BenchmarkDatabase database) {
+        return database.userDao.createUser(new User("bench-new-" + created++, "password"));
+    }
+
+    /**
+     * Removes the rows inserted during the iteration.
+     *
+     * @param database The benchmark database.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteWrittenRows(BenchmarkDatabase database) {
+        database.deleteWrittenRows();
+    }
+}
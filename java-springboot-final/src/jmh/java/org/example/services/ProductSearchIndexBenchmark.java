@@ -0,0 +1,102 @@
+package org.example.services;
+
+import org.example.events.ProductChangedEvent;
+import org.example.models.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for searching a product search index holding a million products.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ProductSearchIndexBenchmark {
+    /**
+     * The number of products in the index.
+     */
+    private static final int PRODUCT_COUNT = 1_000_000;
+
+    /**
+     * The words product names are made of.
+     */
+    private static final String[] ADJECTIVES = {
+        "red", "green", "golden", "organic", "fresh", "dried", "frozen", "sweet", "sour", "wild",
+        "baby", "giant", "seedless", "ripe", "smoked", "spiced", "roasted", "salted", "honey", "crisp"
+    };
+
+    /**
+     * The nouns product names are made of.
+     */
+    private static final String[] NOUNS = {
+        "apple", "banana", "cherry", "date", "elderberry", "fig", "grape", "huckleberry", "kiwi", "lemon",
+        "mango", "nectarine", "orange", "papaya", "quince", "raspberry", "strawberry", "tangerine", "watermelon", "almond"
+    };
+
+    /**
+     * The index searched by the benchmarks.
+     */
+    private ProductSearchIndex index;
+
+    /**
+     * Fills the index with products named by an adjective, a noun and a batch number,
+     * which gives a dictionary of a few thousand words.
+     */
+    @Setup
+    public void fill() {
+        index = new ProductSearchIndex(null);
+        var random = new Random(42);
+        for (int id = 1; id <= PRODUCT_COUNT; id++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + NOUNS[random.nextInt(NOUNS.length)] + " "
+                    + "batch" + random.nextInt(5_000);
+            index.onProductChanged(new ProductChangedEvent(id, new Product(id, name, BigDecimal.ONE)));
+        }
+    }
+
+    /**
+     * Searches for a batch word that matches exactly.
+     *
+     * @return The matching products.
+     */
+    @Benchmark
+    public List<Product> searchExactWord() {
+        return index.search("batch1234", 20);
+    }
+
+    /**
+     * Searches for a batch word with a typo.
+     *
+     * @return The matching products.
+     */
+    @Benchmark
+    public List<Product> searchWithTypo() {
+        return index.search("bacth1234", 20);
+    }
+
+    /**
+     * Searches for two words, one of them a prefix, narrowing a common word down to a few products.
+     *
+     * @return The matching products.
+     */
+    @Benchmark
+    public List<Product> searchPrefixAndWord() {
+        return index.search("batch1234 straw", 20);
+    }
+}
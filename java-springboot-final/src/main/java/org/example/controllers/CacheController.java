@@ -0,0 +1,68 @@
+package org.example.controllers;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.models.CacheStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controller for the application's in-process caches.
+ * This class is responsible for exposing cache statistics to administrators.
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class CacheController {
+    /**
+     * The cache manager holding the application's caches.
+     */
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Gets the statistics of all caches.
+     *
+     * @return A list of statistics, one per cache.
+     */
+    @GetMapping
+    public List<CacheStatistics> getAll() {
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            statistics.add(toStatistics(name));
+        }
+        return statistics;
+    }
+
+    /**
+     * Gets the statistics of a cache by name.
+     *
+     * @param name The name of the cache.
+     * @return The statistics of the cache.
+     */
+    @GetMapping(path = "/{name}")
+    public CacheStatistics get(@PathVariable String name) {
+        if (!cacheManager.getCacheNames().contains(name))
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cache not found");
+        return toStatistics(name);
+    }
+
+    /**
+     * Reads the statistics of the Caffeine cache with the given name.
+     *
+     * @param name The name of the cache.
+     * @return The statistics of the cache.
+     */
+    private CacheStatistics toStatistics(String name) {
+        var nativeCache = ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return new CacheStatistics(name, nativeCache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+}
@@ -1,15 +1,38 @@
 package org.example.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import org.example.daos.OrderDao;
+import org.example.daos.OrderItemDao;
+import org.example.exceptions.NotFoundException;
+import org.example.models.Cart;
 import org.example.models.Order;
+import org.example.models.OrderDetails;
+import org.example.models.OrderItemDetails;
+import org.example.models.OrderTotal;
+import org.example.models.Receipt;
+import org.example.services.CheckoutService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for orders.
@@ -19,12 +42,40 @@ import java.util.List;
 @PreAuthorize("isAuthenticated()")
 @RequestMapping("/api/orders")
 public class OrderController {
+    /**
+     * The page size used when a page is requested without a limit.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * The largest page size a client may request.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
     /**
      * The order data access object.
      */
     @Autowired
     private OrderDao orderDao;
 
+    /**
+     * The order item data access object.
+     */
+    @Autowired
+    private OrderItemDao orderItemDao;
+
+    /**
+     * The checkout service.
+     */
+    @Autowired
+    private CheckoutService checkoutService;
+
+    /**
+     * The object mapper used to serialize exported orders.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Gets all orders.
      *
@@ -39,20 +90,118 @@ public class OrderController {
         }
     }
 
+    /**
+     * Gets a page of orders with their items and the items' products.
+     * The page is loaded with one query and all of its items with a second one.
+     *
+     * @param username The username to filter the orders by.
+     * @param after The id of the last order of the previous page.
+     * @param limit The maximum number of orders to return.
+     * @return A list of orders with their items.
+     */
+    @GetMapping(path = "/details")
+    public List<OrderDetails> getListOfOrderDetails(@RequestParam(required = false) String username,
+                                                    @RequestParam(defaultValue = "0") int after,
+                                                    @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE);
+
+        List<Order> orders = username != null
+                ? orderDao.getOrdersByUsernameAfter(username, after, limit)
+                : orderDao.getOrdersAfter(after, limit);
+
+        List<Integer> orderIds = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            orderIds.add(order.getId());
+        }
+        Map<Integer, List<OrderItemDetails>> itemsByOrderId = orderItemDao.getOrderItemDetailsByOrderIds(orderIds);
+
+        List<OrderDetails> details = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            details.add(new OrderDetails(order.getId(), order.getUsername(), itemsByOrderId.getOrDefault(order.getId(), List.of())));
+        }
+        return details;
+    }
+
+    /**
+     * Gets the total price of each order, summed by the database.
+     *
+     * @param username The username to filter the orders by.
+     * @return A list of order totals, ordered by order id.
+     */
+    @GetMapping(path = "/totals")
+    public List<OrderTotal> getListOfOrderTotals(@RequestParam(required = false) String username) {
+        if (username != null) {
+            return orderDao.getOrderTotalsByUsername(username);
+        } else {
+            return orderDao.getOrderTotals();
+        }
+    }
+
+    /**
+     * Exports every order with its items and their products as newline-delimited JSON, one order per line.
+     * Each order is written to the response as soon as its last item is read, so the export runs on the
+     * request thread without an async timeout and in constant memory however many orders there are.
+     * Orders are not flushed one by one; the output reaches the client whenever the response buffer fills.
+     *
+     * @param response The response to write the orders to.
+     * @throws IOException If an error occurs while writing the response.
+     */
+    @GetMapping(path = "/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            orderDao.streamOrderDetails(order -> {
+                try {
+                    writer.writeValue(generator, order);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
     /**
      * Gets an order by id.
+     * The response is tagged with a hash of the order, so a client that already holds
+     * it gets 304 Not Modified without the order being serialized.
      *
      * @param id The id of the order.
-     * @return The order with the given id.
+     * @param request The request, for its conditional headers.
+     * @return The order with the given id, or null when the client's copy is current.
      */
     @GetMapping(path = "/{id}")
-    public Order get(@PathVariable int id) {
+    public Order get(@PathVariable int id, ServletWebRequest request) {
         Order order = orderDao.getOrderById(id);
         if (order == null)
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found");
+
+        // Orders belong to one user, so only the client may keep a copy, and it must revalidate it
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        String etag = "order-" + DigestUtils.md5DigestAsHex((order.getId() + "|" + order.getUsername()).getBytes(StandardCharsets.UTF_8));
+        if (request.checkNotModified(etag))
+            return null;
         return order;
     }
 
+    /**
+     * Gets the total price of an order, summed by the database.
+     *
+     * @param id The id of the order.
+     * @return The total of the order with the given id.
+     */
+    @GetMapping(path = "/{id}/total")
+    public OrderTotal getTotal(@PathVariable int id) {
+        OrderTotal total = orderDao.getOrderTotal(id);
+        if (total == null)
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found");
+        return total;
+    }
+
     /**
      * Creates a new order.
      *
@@ -67,6 +216,23 @@ public class OrderController {
         return orderDao.createOrder(order);
     }
 
+    /**
+     * Checks out a cart, creating the order and all of its items in one transaction.
+     *
+     * @param cart The cart to check out.
+     * @param principal The currently logged in user.
+     * @return The receipt with the created order, its items and its total.
+     */
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping(path = "/checkout")
+    public Receipt checkout(@RequestBody Cart cart, Principal principal) {
+        try {
+            return checkoutService.checkout(principal.getName(), cart);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * Updates an order.
      *
@@ -76,10 +242,12 @@ public class OrderController {
      */
     @PutMapping(path = "/{id}")
     public Order update(@RequestBody Order order, @PathVariable int id) {
-        if (orderDao.getOrderById(id) == null)
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found");
         order.setId(id);
-        return orderDao.updateOrder(order);
+        try {
+            return orderDao.updateOrder(order);
+        } catch (NotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found");
+        }
     }
 
     /**
@@ -90,8 +258,9 @@ public class OrderController {
      */
     @DeleteMapping(path = "/{id}")
     public int delete(@PathVariable int id) {
-        if (orderDao.getOrderById(id) == null)
+        int rowsAffected = orderDao.deleteOrder(id);
+        if (rowsAffected == 0)
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found");
-        return orderDao.deleteOrder(id);
+        return rowsAffected;
     }
 }
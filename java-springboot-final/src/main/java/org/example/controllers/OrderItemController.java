@@ -2,6 +2,7 @@ package org.example.controllers;
 
 
 import org.example.daos.OrderItemDao;
+import org.example.exceptions.NotFoundException;
 import org.example.models.OrderItem;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,6 +20,11 @@ import java.util.List;
 @PreAuthorize("isAuthenticated()")
 @RequestMapping("/api/order-items")
 public class OrderItemController {
+    /**
+     * The largest number of order items that may be created in one batch.
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
     /**
      * The order item data access object.
      */
@@ -65,6 +71,20 @@ public class OrderItemController {
         return orderItemDao.createOrderItem(orderItem);
     }
 
+    /**
+     * Creates several order items in one transaction.
+     *
+     * @param orderItems The order items to create.
+     * @return The order items created.
+     */
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping(path = "/batch")
+    public List<OrderItem> createBatch(@RequestBody List<OrderItem> orderItems) {
+        if (orderItems.size() > MAX_BATCH_SIZE)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_SIZE + " order items can be created at once");
+        return orderItemDao.createOrderItems(orderItems);
+    }
+
     /**
      * Updates an order item.
      *
@@ -74,10 +94,12 @@ public class OrderItemController {
      */
     @PutMapping(path = "/{id}")
     public OrderItem update(@RequestBody OrderItem orderItem, @PathVariable int id) {
-        if (orderItemDao.getOrderItemById(id) == null)
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Order item not found");
         orderItem.setId(id);
-        return orderItemDao.updateOrderItem(orderItem);
+        try {
+            return orderItemDao.updateOrderItem(orderItem);
+        } catch (NotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Order item not found");
+        }
     }
 
     /**
@@ -88,8 +110,9 @@ public class OrderItemController {
      */
     @DeleteMapping(path = "/{id}")
     public int delete(@PathVariable int id) {
-        if(orderItemDao.getOrderItemById(id) == null)
+        int rowsAffected = orderItemDao.deleteOrderItem(id);
+        if (rowsAffected == 0)
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Order item not found");
-        return orderItemDao.deleteOrderItem(id);
+        return rowsAffected;
     }
 }
@@ -1,14 +1,33 @@
 package org.example.controllers;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import org.example.daos.ProductDao;
+import org.example.exceptions.NotFoundException;
 import org.example.models.Product;
+import org.example.models.ProductQuery;
+import org.example.services.ProductSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -19,6 +38,26 @@ import java.util.List;
 @PreAuthorize("isAuthenticated()")
 @RequestMapping("/api/products")
 public class ProductController {
+    /**
+     * The page size used when a page is requested without a limit.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * The largest page size a client may request.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * The number of search results returned when no limit is given.
+     */
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    /**
+     * The largest number of search results a client may request.
+     */
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     /**
      * The product data access object.
      */
@@ -26,27 +65,137 @@ public class ProductController {
     private ProductDao productDao;
 
     /**
-     * Gets all products.
+     * The object mapper used to serialize streamed products.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * The index used to search product names.
+     */
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    /**
+     * How long the client may reuse a catalog response without revalidating it.
+     */
+    @Value("${webstore.catalog.max-age:60s}")
+    private Duration catalogMaxAge;
+
+    /**
+     * Gets all products, or a single page of products when {@code after} or {@code limit} is given.
+     * When a filter or sort is given, the products are filtered, sorted and limited by the database.
+     * The response is tagged with the catalog version and the query, so a client that already holds
+     * it gets 304 Not Modified after a single aggregate query instead of the listing.
      *
-     * @return A list of all products.
+     * @param after The id of the last product of the previous page, only when sorting by id.
+     * @param limit The maximum number of products to return.
+     * @param minPrice The lowest price to include.
+     * @param maxPrice The highest price to include.
+     * @param namePrefix The prefix the names must start with.
+     * @param sort The field to sort by: id, name or price.
+     * @param direction The sort direction: asc or desc.
+     * @param request The request, for its query and conditional headers.
+     * @return A list of products, or null when the client's copy is current.
      */
     @GetMapping
-    public List<Product> getAll() {
-        return productDao.getProducts();
+    public List<Product> getAll(@RequestParam(required = false) Integer after,
+                                @RequestParam(required = false) Integer limit,
+                                @RequestParam(required = false) BigDecimal minPrice,
+                                @RequestParam(required = false) BigDecimal maxPrice,
+                                @RequestParam(required = false) String namePrefix,
+                                @RequestParam(required = false) String sort,
+                                @RequestParam(required = false) String direction,
+                                ServletWebRequest request) {
+        String query = request.getRequest().getQueryString();
+        String etag = "catalog-" + DigestUtils.md5DigestAsHex((productDao.getCatalogVersion() + "|" + (query != null ? query : "")).getBytes(StandardCharsets.UTF_8));
+        if (isNotModified(request, etag))
+            return null;
+
+        boolean filtered = minPrice != null || maxPrice != null || namePrefix != null || sort != null || direction != null;
+        if (!filtered && after == null && limit == null) {
+            return cacheable(request, productDao.getProducts());
+        }
+
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        if (!filtered) {
+            return cacheable(request, productDao.getProductsAfter(after != null ? after : 0, pageSize));
+        }
+
+        ProductQuery.SortField sortField = parseSortField(sort);
+        boolean descending = parseDescending(direction);
+        if (after != null && sortField != ProductQuery.SortField.ID)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "After is only supported when sorting by id");
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Minimum price must not exceed maximum price");
+        if (namePrefix != null && namePrefix.isEmpty())
+            namePrefix = null;
+
+        return cacheable(request, productDao.getProductsMatching(new ProductQuery(minPrice, maxPrice, namePrefix, sortField, descending, after, pageSize)));
+    }
+
+    /**
+     * Streams all products as a JSON array, writing each product to the response
+     * as it is read from the database. Products are not flushed one by one; the output
+     * reaches the client whenever the response buffer fills.
+     *
+     * @param response The response to write the products to.
+     * @throws IOException If an error occurs while writing the response.
+     */
+    @GetMapping(params = "stream=true")
+    public void streamAll(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            productDao.streamProducts(product -> {
+                try {
+                    writer.writeValue(generator, product);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Searches products by name, matching whole words, prefixes and words with one typo.
+     *
+     * @param q The words to search for.
+     * @param limit The maximum number of products to return.
+     * @return The matching products, best match first.
+     */
+    @GetMapping(path = "/search")
+    public List<Product> search(@RequestParam String q, @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (q.isBlank())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query must not be empty");
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        return productSearchIndex.search(q, limit);
     }
 
     /**
      * Gets a product by id.
+     * The response is tagged with a hash of the product, so a client that already holds
+     * it gets 304 Not Modified without the product being serialized.
      *
      * @param id The id of the product.
-     * @return The product with the given id.
+     * @param request The request, for its conditional headers.
+     * @return The product with the given id, or null when the client's copy is current.
      */
     @GetMapping(path = "{id}")
-    public Product get(@PathVariable int id) {
+    public Product get(@PathVariable int id, ServletWebRequest request) {
         Product product = productDao.getProductById(id);
         if (product == null)
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found");
-        return product;
+
+        String etag = "product-" + DigestUtils.md5DigestAsHex((product.getId() + "|" + product.getName() + "|" + product.getPrice()).getBytes(StandardCharsets.UTF_8));
+        if (isNotModified(request, etag))
+            return null;
+        return cacheable(request, product);
     }
 
     /**
@@ -70,10 +219,12 @@ public class ProductController {
      */
     @PutMapping(path = "/{id}")
     public Product update(@RequestBody Product product, @PathVariable int id) {
-        if (productDao.getProductById(id) == null)
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found");
         product.setId(id);
-        return productDao.updateProduct(product);
+        try {
+            return productDao.updateProduct(product);
+        } catch (NotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found");
+        }
     }
 
     /**
@@ -84,8 +235,72 @@ public class ProductController {
      */
     @DeleteMapping(path = "/{id}")
     public int delete(@PathVariable int id) {
-        if(productDao.getProductById(id) == null)
+        int rowsAffected = productDao.deleteProduct(id);
+        if (rowsAffected == 0)
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found");
-        return productDao.deleteProduct(id);
+        return rowsAffected;
+    }
+
+    /**
+     * Parses the sort parameter against the fields products may be sorted by.
+     *
+     * @param sort The sort parameter, may be null.
+     * @return The sort field, id if none was given.
+     */
+    private ProductQuery.SortField parseSortField(String sort) {
+        if (sort == null)
+            return ProductQuery.SortField.ID;
+        return switch (sort.toLowerCase()) {
+            case "id" -> ProductQuery.SortField.ID;
+            case "name" -> ProductQuery.SortField.NAME;
+            case "price" -> ProductQuery.SortField.PRICE;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sort must be one of id, name or price");
+        };
+    }
+
+    /**
+     * Parses the direction parameter.
+     *
+     * @param direction The direction parameter, may be null.
+     * @return Whether the sort is descending, false if no direction was given.
+     */
+    private boolean parseDescending(String direction) {
+        if (direction == null)
+            return false;
+        return switch (direction.toLowerCase()) {
+            case "asc" -> false;
+            case "desc" -> true;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Direction must be asc or desc");
+        };
+    }
+
+    /**
+     * Checks whether the client already holds a catalog response. If so, the response becomes
+     * 304 Not Modified with the caching headers, and the handler returns null so that no body is written.
+     *
+     * @param request The request.
+     * @param etag The entity tag of the response.
+     * @return Whether the client's copy is current.
+     */
+    private boolean isNotModified(ServletWebRequest request, String etag) {
+        if (!request.checkNotModified(etag))
+            return false;
+        cacheable(request, null);
+        return true;
+    }
+
+    /**
+     * Adds the caching headers of a successful catalog response. Catalog responses are only served
+     * to authenticated users, so only the client may cache them, never a shared cache. Errors are
+     * thrown before this is called, so they never carry the headers.
+     *
+     * @param <T> The type of the body.
+     * @param request The request.
+     * @param body The body of the response.
+     * @return The body, unchanged.
+     */
+    private <T> T cacheable(ServletWebRequest request, T body) {
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(catalogMaxAge).cachePrivate().getHeaderValue());
+        return body;
     }
 }
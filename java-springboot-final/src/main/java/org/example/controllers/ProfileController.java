@@ -1,13 +1,18 @@
 package org.example.controllers;
 
 import org.example.daos.UserDao;
+import org.example.models.OrderTotal;
+import org.example.models.ProfileOverview;
 import org.example.models.User;
+import org.example.models.UserWithRoles;
+import org.example.services.AsyncDaoFacade;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the profile of the currently logged in user.
@@ -22,16 +27,38 @@ public class ProfileController {
     @Autowired
     private UserDao userDao;
 
+    /**
+     * The facade running DAO calls in parallel.
+     */
+    @Autowired
+    private AsyncDaoFacade asyncDaoFacade;
+
     /**
      * Gets the profile of the currently logged in user.
      *
      * @param principal The currently logged in user.
-     * @return The profile of the currently logged in user.
+     * @return The profile of the currently logged in user, including their roles.
      */
     @GetMapping
-    public User getProfile(Principal principal) {
+    public UserWithRoles getProfile(Principal principal) {
+        String username = principal.getName();
+        return userDao.getUserWithRoles(username);
+    }
+
+    /**
+     * Gets an overview of the currently logged in user: their roles and the totals of their orders.
+     * Both are queried at once, so the response takes as long as the slower query rather than both,
+     * and no request thread waits for them.
+     *
+     * @param principal The currently logged in user.
+     * @return A future completed with the overview of the currently logged in user.
+     */
+    @GetMapping("/overview")
+    public CompletableFuture<ProfileOverview> getOverview(Principal principal) {
         String username = principal.getName();
-        return userDao.getUserByUsername(username);
+        CompletableFuture<List<String>> roles = asyncDaoFacade.users(dao -> dao.getRoles(username));
+        CompletableFuture<List<OrderTotal>> orders = asyncDaoFacade.orders(dao -> dao.getOrderTotalsByUsername(username));
+        return roles.thenCombine(orders, (userRoles, orderTotals) -> new ProfileOverview(username, userRoles, orderTotals));
     }
 
     /**
@@ -43,7 +70,8 @@ public class ProfileController {
     @GetMapping("/roles")
     public List<String> getRoles(Principal principal) {
         String username = principal.getName();
-        return userDao.getRoles(username);
+        UserWithRoles user = userDao.getUserWithRoles(username);
+        return user != null ? user.getRoles() : List.of();
     }
 
     /**
@@ -56,9 +84,6 @@ public class ProfileController {
     @PutMapping("/change-password")
     public User changePassword(Principal principal, @RequestBody String newPassword) {
         String username = principal.getName();
-        User user = userDao.getUserByUsername(username);
-        user.setPassword(newPassword);
-
-        return userDao.updatePassword(user);
+        return userDao.updatePassword(new User(username, newPassword));
     }
 }
@@ -0,0 +1,78 @@
+package org.example.controllers;
+
+import org.example.datasource.QueryProfiler;
+import org.example.models.QueryStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Controller for the SQL query profile.
+ * This class is responsible for exposing the statements that cost the database the most to administrators.
+ */
+@RestController
+@RequestMapping("/api/admin/queries")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class QueryProfileController {
+    /**
+     * The number of fingerprints returned when no limit is given.
+     */
+    private static final int DEFAULT_LIMIT = 10;
+
+    /**
+     * The largest number of fingerprints a client may request.
+     */
+    private static final int MAX_LIMIT = 1000;
+
+    /**
+     * The profiler aggregating the statements by fingerprint.
+     */
+    @Autowired
+    private QueryProfiler queryProfiler;
+
+    /**
+     * Gets the statement fingerprints that took the most of a measure.
+     *
+     * @param sort The measure to rank by: total, count, max, mean or rows.
+     * @param limit The maximum number of fingerprints to return.
+     * @return A list of query statistics, from the top.
+     */
+    @GetMapping
+    public List<QueryStatistics> getTop(@RequestParam(defaultValue = "total") String sort,
+                                        @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIMIT);
+        return queryProfiler.getTop(parseMeasure(sort).reversed(), limit);
+    }
+
+    /**
+     * Discards the profile, so that it only covers what runs from now on.
+     */
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @DeleteMapping
+    public void reset() {
+        queryProfiler.reset();
+    }
+
+    /**
+     * Parses the measure to rank fingerprints by.
+     *
+     * @param sort The measure: total, count, max, mean or rows.
+     * @return A comparator ordering fingerprints by the measure, smallest first.
+     */
+    private static Comparator<QueryStatistics> parseMeasure(String sort) {
+        return switch (sort.toLowerCase()) {
+            case "total" -> Comparator.comparingDouble(QueryStatistics::getTotalMillis);
+            case "count" -> Comparator.comparingLong(QueryStatistics::getCount);
+            case "max" -> Comparator.comparingDouble(QueryStatistics::getMaxMillis);
+            case "mean" -> Comparator.comparingDouble(QueryStatistics::getMeanMillis);
+            case "rows" -> Comparator.comparingLong(QueryStatistics::getRows);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sort must be total, count, max, mean or rows");
+        };
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.controllers;
 
+import org.example.exceptions.NotFoundException;
 import org.example.models.User;
 import org.example.daos.UserDao;
+import org.example.models.UserOrderSummary;
+import org.example.services.UserOrderSummaryView;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,6 +28,12 @@ public class UserController {
     @Autowired
     private UserDao userDao;
 
+    /**
+     * The materialized summary of the orders of each user.
+     */
+    @Autowired
+    private UserOrderSummaryView userOrderSummaryView;
+
     /**
      * Gets all users.
      *
@@ -35,6 +44,40 @@ public class UserController {
         return userDao.getUsers();
     }
 
+    /**
+     * Gets the order summary of every user with at least one order.
+     *
+     * @return A list of order summaries, ordered by username.
+     */
+    @GetMapping(path = "/order-summaries")
+    public List<UserOrderSummary> getOrderSummaries() {
+        return userOrderSummaryView.getSummaries();
+    }
+
+    /**
+     * Rebuilds the order summaries from the database, for use after the tables were written
+     * by something other than this application. The view's maintenance thread does the rebuild,
+     * and the request waits for it.
+     *
+     * @return A list of the rebuilt order summaries, ordered by username.
+     */
+    @PostMapping(path = "/order-summaries/rebuild")
+    public List<UserOrderSummary> rebuildOrderSummaries() {
+        userOrderSummaryView.rebuild();
+        return userOrderSummaryView.getSummaries();
+    }
+
+    /**
+     * Gets the number of orders a user has placed and what they have spent on them.
+     *
+     * @param username The username of the user.
+     * @return The order summary of the user.
+     */
+    @GetMapping(path = "/{username}/order-summary")
+    public UserOrderSummary getOrderSummary(@PathVariable String username) {
+        return userOrderSummaryView.getSummary(username);
+    }
+
     /**
      * Gets a user by their username.
      *
@@ -68,12 +111,11 @@ public class UserController {
      */
     @PutMapping(path = "/{username}/password")
     public User updatePassword(@RequestBody String password, @PathVariable String username) {
-        User user = userDao.getUserByUsername(username);
-        if (user == null) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found");
+        try {
+            return userDao.updatePassword(new User(username, password));
+        } catch (NotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
         }
-        user.setPassword(password);
-        return userDao.updatePassword(user);
     }
 
     /**
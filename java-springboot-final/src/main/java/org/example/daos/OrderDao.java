@@ -1,37 +1,111 @@
 package org.example.daos;
 
+import org.example.events.OrdersChangedEvent;
 import org.example.exceptions.DaoException;
+import org.example.exceptions.NotFoundException;
 import org.example.models.Order;
+import org.example.models.OrderDetails;
+import org.example.models.OrderItemDetails;
+import org.example.models.OrderTotal;
+import org.example.models.Product;
+import org.example.models.UserOrderSummary;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Data access object for orders.
  */
 @Component
 public class OrderDao {
+    /**
+     * The number of decimal places of prices and totals, matching the products.price column.
+     */
+    private static final int PRICE_SCALE = 2;
+
+    /**
+     * The number of rows the driver fetches per round trip when streaming.
+     * Only streaming reads set a fetch size, which opens a server-side cursor; the shared template
+     * leaves it unset, so ordinary reads fetch their rows in one go.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * The query for the order count and total spend of users, without its WHERE clause. Orders without
+     * items count with nothing spent and items whose product was deleted count for nothing.
+     */
+    private static final String USER_ORDER_SUMMARIES_SQL = "SELECT o.username, COUNT(DISTINCT o.id) AS order_count, COALESCE(SUM(oi.quantity * p.price), 0) AS total " +
+            "FROM orders o LEFT JOIN order_items oi ON oi.order_id = o.id LEFT JOIN products p ON p.id = oi.product_id ";
+
+    /**
+     * How long, in seconds, the database waits for an export to read the next rows before aborting it.
+     * This bounds how long a client may stall, not how long the export may run.
+     */
+    private static final int EXPORT_NET_WRITE_TIMEOUT_SECONDS = 3600;
+
+    /**
+     * The query for every order joined with its items and their products. It is ordered only by order id,
+     * so the database can walk the orders in primary key order and stream rows without sorting the join,
+     * and the items of each order arrive together, in the order of the order_items index on order_id.
+     */
+    private static final String ORDER_EXPORT_SQL = "SELECT o.id, o.username, oi.id AS item_id, oi.quantity, p.id AS product_id, p.name, p.price " +
+            "FROM orders o LEFT JOIN order_items oi ON oi.order_id = o.id LEFT JOIN products p ON p.id = oi.product_id ORDER BY o.id";
+
+    /**
+     * The query for order totals, without its WHERE clause. Orders without items total zero and
+     * items whose product was deleted count for nothing.
+     */
+    private static final String ORDER_TOTALS_SQL = "SELECT o.id, o.username, COALESCE(SUM(oi.quantity * p.price), 0) AS total " +
+            "FROM orders o LEFT JOIN order_items oi ON oi.order_id = o.id LEFT JOIN products p ON p.id = oi.product_id ";
+
     /**
      * The JDBC template for querying the database.
      */
     private final JdbcTemplate jdbcTemplate;
 
+    /**
+     * The named parameter JDBC template for queries with list parameters.
+     */
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * The publisher that announces every order written.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * Creates a new order data access object
      *
-     * @param dataSource The data source for the DAO.
+     * @param jdbcTemplate The shared JDBC template for the DAO.
+     * @param namedParameterJdbcTemplate The shared named parameter JDBC template for the DAO.
+     * @param eventPublisher The publisher that announces every order written.
      */
-    public OrderDao(DataSource dataSource){
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    public OrderDao(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                    ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -39,6 +113,7 @@ public class OrderDao {
      *
      * @return List of all orders.
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<Order> getOrders() {
         return jdbcTemplate.query("SELECT * FROM orders", this::mapToOrder);
     }
@@ -48,16 +123,43 @@ public class OrderDao {
      *
      * @return List of orders with the given username.
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<Order> getOrdersByUsername(String username) {
         return jdbcTemplate.query("SELECT * FROM orders WHERE username = ?", this::mapToOrder, username);
     }
 
+    /**
+     * Gets a page of orders ordered by id, starting after the given id.
+     *
+     * @param afterId The id of the last order of the previous page (0 for the first page).
+     * @param limit The maximum number of orders to return.
+     * @return List of at most {@code limit} orders with an id greater than {@code afterId}.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<Order> getOrdersAfter(int afterId, int limit) {
+        return jdbcTemplate.query("SELECT * FROM orders WHERE id > ? ORDER BY id LIMIT ?", this::mapToOrder, afterId, limit);
+    }
+
+    /**
+     * Gets a page of orders with the given username ordered by id, starting after the given id.
+     *
+     * @param username The username of the orders.
+     * @param afterId The id of the last order of the previous page (0 for the first page).
+     * @param limit The maximum number of orders to return.
+     * @return List of at most {@code limit} orders with the given username and an id greater than {@code afterId}.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<Order> getOrdersByUsernameAfter(String username, int afterId, int limit) {
+        return jdbcTemplate.query("SELECT * FROM orders WHERE username = ? AND id > ? ORDER BY id LIMIT ?", this::mapToOrder, username, afterId, limit);
+    }
+
     /**
      * Gets an order by id.
      *
      * @param id The id of the order.
      * @return The order with the given id.
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Order getOrderById(int id) {
         try {
             return jdbcTemplate.queryForObject("SELECT * FROM orders WHERE id = ?", this::mapToOrder, id);
@@ -66,50 +168,201 @@ public class OrderDao {
         }
     }
 
+    /**
+     * Gets the total price of an order, summed by the database.
+     *
+     * @param id The id of the order.
+     * @return The total of the order with the given id, or null if there is no such order.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public OrderTotal getOrderTotal(int id) {
+        try {
+            return jdbcTemplate.queryForObject(ORDER_TOTALS_SQL + "WHERE o.id = ? GROUP BY o.id, o.username", this::mapToOrderTotal, id);
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the total price of every order, summed by the database.
+     *
+     * @return List of the totals of all orders, ordered by order id.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<OrderTotal> getOrderTotals() {
+        return jdbcTemplate.query(ORDER_TOTALS_SQL + "GROUP BY o.id, o.username ORDER BY o.id", this::mapToOrderTotal);
+    }
+
+    /**
+     * Streams the order count and total spend of every user with at least one order, summed by the
+     * database and ordered by username, handing each one to the consumer as it is read from the result
+     * set instead of collecting them all into a list.
+     *
+     * @param consumer The consumer that receives each user's summary.
+     */
+    public void streamUserOrderSummaries(Consumer<UserOrderSummary> consumer) {
+        PreparedStatementCreator psc = con -> {
+            PreparedStatement ps = con.prepareStatement(USER_ORDER_SUMMARIES_SQL + "GROUP BY o.username ORDER BY o.username", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        };
+        jdbcTemplate.query(psc, rs -> {
+            consumer.accept(mapToUserOrderSummary(rs, 0));
+        });
+    }
+
+    /**
+     * Gets the order count and total spend of several users, summed by the database in a single query.
+     *
+     * @param usernames The usernames of the users.
+     * @return List of the summaries of the users with at least one order, ordered by username.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<UserOrderSummary> getUserOrderSummaries(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return List.of();
+        }
+        return namedParameterJdbcTemplate.query(USER_ORDER_SUMMARIES_SQL + "WHERE o.username IN (:usernames) GROUP BY o.username ORDER BY o.username",
+                Map.of("usernames", usernames), this::mapToUserOrderSummary);
+    }
+
+    /**
+     * Gets the usernames of the users that placed several orders.
+     *
+     * @param ids The ids of the orders.
+     * @return List of the distinct usernames of the orders that exist.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<String> getUsernamesByOrderIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return namedParameterJdbcTemplate.queryForList("SELECT DISTINCT username FROM orders WHERE id IN (:ids)", Map.of("ids", ids), String.class);
+    }
+
+    /**
+     * Gets the usernames of the users with an order holding the given product.
+     *
+     * @param productId The id of the product.
+     * @return List of the distinct usernames.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<String> getUsernamesByProductId(int productId) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT o.username FROM order_items oi JOIN orders o ON o.id = oi.order_id WHERE oi.product_id = ?", String.class, productId);
+    }
+
+    /**
+     * Streams every order with its items and their products ordered by id, handing each order to the
+     * consumer once its last item has been read. Only the order being read is held in memory, so the
+     * whole table can be exported through a forward-only cursor. The connection's write timeout is
+     * raised for the duration of the export, so a client that reads slowly does not make the database
+     * abort the query, and restored afterwards.
+     *
+     * @param consumer The consumer that receives each order with its items.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public void streamOrderDetails(Consumer<OrderDetails> consumer) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (Statement statement = con.createStatement()) {
+                statement.execute("SET SESSION net_write_timeout = " + EXPORT_NET_WRITE_TIMEOUT_SECONDS);
+            }
+            try (PreparedStatement ps = con.prepareStatement(ORDER_EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(STREAM_FETCH_SIZE);
+                try (ResultSet rs = ps.executeQuery()) {
+                    OrderDetails current = null;
+                    while (rs.next()) {
+                        int id = rs.getInt("id");
+                        if (current == null || current.getId() != id) {
+                            if (current != null) {
+                                consumer.accept(current);
+                            }
+                            current = new OrderDetails(id, rs.getString("username"), new ArrayList<>());
+                        }
+                        int itemId = rs.getInt("item_id");
+                        if (!rs.wasNull()) {
+                            current.getItems().add(mapToOrderItemDetails(rs, itemId));
+                        }
+                    }
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                }
+            } finally {
+                try (Statement statement = con.createStatement()) {
+                    statement.execute("SET SESSION net_write_timeout = DEFAULT");
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Gets the total price of each order with the given username, summed by the database.
+     *
+     * @param username The username of the orders.
+     * @return List of the totals of the orders with the given username, ordered by order id.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<OrderTotal> getOrderTotalsByUsername(String username) {
+        return jdbcTemplate.query(ORDER_TOTALS_SQL + "WHERE o.username = ? GROUP BY o.id, o.username ORDER BY o.id", this::mapToOrderTotal, username);
+    }
+
     /**
      * Creates a new order.
      *
+     * The order is built from the bound values and the generated key, so no row is read back.
+     *
      * @param order The order to create.
      * @return The order created.
      */
     public Order createOrder(Order order) {
-        try {
-            PreparedStatementCreator psc = con -> {
-                PreparedStatement ps = con.prepareStatement("INSERT INTO orders (username) VALUES (?)", new String[]{"id"});
-                ps.setString(1, order.getUsername());
-                return ps;
-            };
-
-            KeyHolder keyHolder = new GeneratedKeyHolder();
-            jdbcTemplate.update(psc, keyHolder);
-            Number key = keyHolder.getKey();
-            return getOrderById(key.intValue());
-        } catch (EmptyResultDataAccessException e) {
+        PreparedStatementCreator psc = con -> {
+            PreparedStatement ps = con.prepareStatement("INSERT INTO orders (username) VALUES (?)", new String[]{"id"});
+            ps.setString(1, order.getUsername());
+            return ps;
+        };
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(psc, keyHolder);
+        Number key = keyHolder.getKey();
+        if (key == null)
             throw new DaoException("Failed to create order.");
-        }
+        Order created = new Order(key.intValue(), order.getUsername());
+        eventPublisher.publishEvent(new OrdersChangedEvent(List.of(), List.of(created.getUsername())));
+        return created;
     }
 
     /**
      * Updates an order.
      *
+     * The order is built from the bound values, so no row is read back. The user the order belonged
+     * to is not read either, so the event announcing the move is partial.
+     *
      * @param order The order to update.
      * @return The updated order.
+     * @throws NotFoundException If no order has the given id.
      */
     public Order updateOrder(Order order) {
-      int rowsAffected = jdbcTemplate.update("UPDATE orders SET username = ? WHERE id = ?", order.getUsername(), order.getId());
+        int rowsAffected = jdbcTemplate.update("UPDATE orders SET username = ? WHERE id = ?", order.getUsername(), order.getId());
         if (rowsAffected == 0)
-            throw new DaoException("Zero rows affected, expected at least one.");
-        return getOrderById(order.getId());
+            throw new NotFoundException("Zero rows affected, expected at least one.");
+        eventPublisher.publishEvent(new OrdersChangedEvent(List.of(), List.of(order.getUsername()), true));
+        return new Order(order.getId(), order.getUsername());
     }
 
     /**
      * Deletes an order.
      *
+     * The user the order belonged to is not read first, so the event announcing the delete is partial.
+     *
      * @param id The id of the order.
      * @return The number of rows affected (1 if an order was deleted, 0 if no order was found).
      */
     public int deleteOrder(int id) {
-        return jdbcTemplate.update("DELETE FROM orders WHERE id = ?", id);
+        int rowsAffected = jdbcTemplate.update("DELETE FROM orders WHERE id = ?", id);
+        if (rowsAffected > 0)
+            eventPublisher.publishEvent(new OrdersChangedEvent(List.of(), List.of(), true));
+        return rowsAffected;
     }
 
     /**
@@ -120,10 +373,57 @@ public class OrderDao {
      * @return The order object.
      * @throws SQLException If an error occurs while mapping the result set.
      */
-    private Order mapToOrder(ResultSet rs, int rowNum) throws SQLException {
+    Order mapToOrder(ResultSet rs, int rowNum) throws SQLException {
         return new Order(
                 rs.getInt("id"),
                 rs.getString("username")
         );
     }
+
+    /**
+     * Maps a row in the ResultSet to an OrderTotal object.
+     *
+     * @param rs The result set to map.
+     * @param rowNum The row number.
+     * @return The order total object.
+     * @throws SQLException If an error occurs while mapping the result set.
+     */
+    OrderTotal mapToOrderTotal(ResultSet rs, int rowNum) throws SQLException {
+        BigDecimal total = rs.getBigDecimal("total");
+        return new OrderTotal(
+                rs.getInt("id"),
+                rs.getString("username"),
+                total.setScale(PRICE_SCALE, RoundingMode.HALF_UP)
+        );
+    }
+
+    /**
+     * Maps a row in the ResultSet to a UserOrderSummary object.
+     *
+     * @param rs The result set to map.
+     * @param rowNum The row number.
+     * @return The user order summary object.
+     * @throws SQLException If an error occurs while mapping the result set.
+     */
+    UserOrderSummary mapToUserOrderSummary(ResultSet rs, int rowNum) throws SQLException {
+        return new UserOrderSummary(
+                rs.getString("username"),
+                rs.getInt("order_count"),
+                rs.getBigDecimal("total").setScale(PRICE_SCALE, RoundingMode.HALF_UP)
+        );
+    }
+
+    /**
+     * Maps the item columns of an order export row to an Order Item Details object.
+     *
+     * @param rs The result set to map.
+     * @param itemId The id of the item.
+     * @return The order item with its product, or a null product if it was deleted.
+     * @throws SQLException If an error occurs while reading the row.
+     */
+    private OrderItemDetails mapToOrderItemDetails(ResultSet rs, int itemId) throws SQLException {
+        int productId = rs.getInt("product_id");
+        Product product = rs.wasNull() ? null : new Product(productId, rs.getString("name"), rs.getBigDecimal("price"));
+        return new OrderItemDetails(itemId, rs.getInt("quantity"), product);
+    }
 }
@@ -1,19 +1,33 @@
 package org.example.daos;
 
+import org.example.events.OrdersChangedEvent;
 import org.example.exceptions.DaoException;
+import org.example.exceptions.NotFoundException;
 import org.example.models.OrderItem;
+import org.example.models.OrderItemDetails;
+import org.example.models.Product;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.sql.DataSource;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Data access object for order items.
@@ -26,13 +40,28 @@ public class OrderItemDao {
      */
     private final JdbcTemplate jdbcTemplate;
 
+    /**
+     * The named parameter JDBC template for queries with list parameters.
+     */
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * The publisher that announces the orders whose items were written.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * Creates a new order item data access object
      *
-     * @param dataSource The data source for the DAO.
+     * @param jdbcTemplate The shared JDBC template for the DAO.
+     * @param namedParameterJdbcTemplate The shared named parameter JDBC template for the DAO.
+     * @param eventPublisher The publisher that announces the orders whose items were written.
      */
-    public OrderItemDao(DataSource dataSource) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    public OrderItemDao(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                        ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -40,6 +69,7 @@ public class OrderItemDao {
      *
      * @return List of all order items.
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<OrderItem> getOrderItems() {
         return jdbcTemplate.query("SELECT * FROM order_items", this::mapToOrderItem);
     }
@@ -49,16 +79,41 @@ public class OrderItemDao {
      *
      * @return List of order items with the given order id.
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<OrderItem> getOrderItemsByOrderId(Long orderId) {
         return jdbcTemplate.query("SELECT * FROM order_items WHERE order_id = ?", this::mapToOrderItem, orderId);
     }
 
+    /**
+     * Gets the items of several orders, together with their products, in a single query.
+     *
+     * @param orderIds The ids of the orders.
+     * @return Map from order id to the items of that order. Orders without items have no entry.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Map<Integer, List<OrderItemDetails>> getOrderItemDetailsByOrderIds(Collection<Integer> orderIds) {
+        Map<Integer, List<OrderItemDetails>> itemsByOrderId = new HashMap<>();
+        if (orderIds.isEmpty()) {
+            return itemsByOrderId;
+        }
+
+        String sql = "SELECT oi.id, oi.order_id, oi.quantity, p.id AS product_id, p.name, p.price " +
+                "FROM order_items oi LEFT JOIN products p ON p.id = oi.product_id " +
+                "WHERE oi.order_id IN (:orderIds) ORDER BY oi.order_id, oi.id";
+        namedParameterJdbcTemplate.query(sql, Map.of("orderIds", orderIds), rs -> {
+            itemsByOrderId.computeIfAbsent(rs.getInt("order_id"), id -> new ArrayList<>())
+                    .add(mapToOrderItemDetails(rs));
+        });
+        return itemsByOrderId;
+    }
+
     /**
      * Gets an order item by id.
      *
      * @param id The id of the order item.
      * @return The order item with the given id.
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public OrderItem getOrderItemById(int id) {
         try {
             return jdbcTemplate.queryForObject("SELECT * FROM order_items WHERE id = ?", this::mapToOrderItem, id);
@@ -70,49 +125,125 @@ public class OrderItemDao {
     /**
      * Creates a new order item.
      *
+     * The order item is built from the bound values and the generated key, so no row is read back.
+     *
      * @param orderItem The order item to create.
      * @return The order items created.
      */
     public OrderItem createOrderItem(OrderItem orderItem) {
-        try {
-            PreparedStatementCreator psc = con -> {
-                PreparedStatement ps = con.prepareStatement("INSERT INTO order_items (order_id, product_id, quantity) VALUES (?, ?, ?)", new String[]{"id"});
-                ps.setString(1, String.valueOf(orderItem.getOrderId()));
-                ps.setString(2, String.valueOf(orderItem.getProductId()));
-                ps.setString(3, String.valueOf(orderItem.getQuantity()));
-                return ps;
-            };
-
-            KeyHolder keyHolder = new GeneratedKeyHolder();
-            jdbcTemplate.update(psc, keyHolder);
-            Number key = keyHolder.getKey();
-            return getOrderItemById(key.intValue());
-        } catch (EmptyResultDataAccessException e) {
+        PreparedStatementCreator psc = con -> {
+            PreparedStatement ps = con.prepareStatement("INSERT INTO order_items (order_id, product_id, quantity) VALUES (?, ?, ?)", new String[]{"id"});
+            ps.setInt(1, orderItem.getOrderId());
+            ps.setInt(2, orderItem.getProductId());
+            ps.setInt(3, orderItem.getQuantity());
+            return ps;
+        };
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(psc, keyHolder);
+        Number key = keyHolder.getKey();
+        if (key == null)
             throw new DaoException("Failed to create order item.");
+        eventPublisher.publishEvent(new OrdersChangedEvent(List.of(orderItem.getOrderId()), List.of()));
+        return new OrderItem(key.intValue(), orderItem.getOrderId(), orderItem.getProductId(), orderItem.getQuantity());
+    }
+
+    /**
+     * Creates several order items with a single JDBC batch in one transaction.
+     * The created order items are built from the given values and the generated keys,
+     * so no rows are read back.
+     *
+     * @param orderItems The order items to create.
+     * @return The order items created, in the order they were given.
+     */
+    @Transactional
+    public List<OrderItem> createOrderItems(List<OrderItem> orderItems) {
+        if (orderItems.isEmpty()) {
+            return List.of();
+        }
+
+        PreparedStatementCreator psc = con -> con.prepareStatement("INSERT INTO order_items (order_id, product_id, quantity) VALUES (?, ?, ?)", new String[]{"id"});
+        BatchPreparedStatementSetter pss = new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OrderItem orderItem = orderItems.get(i);
+                ps.setInt(1, orderItem.getOrderId());
+                ps.setInt(2, orderItem.getProductId());
+                ps.setInt(3, orderItem.getQuantity());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return orderItems.size();
+            }
+        };
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(psc, pss, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != orderItems.size())
+            throw new DaoException("Failed to create order items.");
+
+        List<OrderItem> created = new ArrayList<>(orderItems.size());
+        Set<Integer> orderIds = new LinkedHashSet<>();
+        for (int i = 0; i < orderItems.size(); i++) {
+            OrderItem orderItem = orderItems.get(i);
+            Number key = (Number) keys.get(i).values().iterator().next();
+            created.add(new OrderItem(key.intValue(), orderItem.getOrderId(), orderItem.getProductId(), orderItem.getQuantity()));
+            orderIds.add(orderItem.getOrderId());
         }
+        eventPublisher.publishEvent(new OrdersChangedEvent(orderIds, List.of()));
+        return created;
     }
 
     /**
      * Updates an order item.
      *
+     * The order item is built from the bound values, so no row is read back. The order it belonged
+     * to is not read either, so the event announcing the update is partial.
+     *
      * @param orderItem The order item to update.
      * @return The updated order item.
+     * @throws NotFoundException If no order item has the given id.
      */
     public OrderItem updateOrderItem(OrderItem orderItem) {
         int rowsAffected = jdbcTemplate.update("UPDATE order_items SET order_id = ?, product_id = ?, quantity =? WHERE id =?", orderItem.getOrderId(), orderItem.getProductId(), orderItem.getQuantity(), orderItem.getId());
         if (rowsAffected == 0)
-            throw new DaoException("Zero rows affected, expected at least one.");
-        return getOrderItemById(orderItem.getId());
+            throw new NotFoundException("Zero rows affected, expected at least one.");
+        eventPublisher.publishEvent(new OrdersChangedEvent(List.of(orderItem.getOrderId()), List.of(), true));
+        return new OrderItem(orderItem.getId(), orderItem.getOrderId(), orderItem.getProductId(), orderItem.getQuantity());
     }
 
     /**
      * Deletes an order item.
      *
+     * The order it belonged to is not read first, so the event announcing the delete is partial.
+     *
      * @param id The id of the order item.
      * @return The number of rows affected (1 if an order item was deleted, 0 if no order item was found).
      */
     public int deleteOrderItem(int id) {
-        return jdbcTemplate.update("DELETE FROM products WHERE id = ?", id);
+        int rowsAffected = jdbcTemplate.update("DELETE FROM order_items WHERE id = ?", id);
+        if (rowsAffected > 0)
+            eventPublisher.publishEvent(new OrdersChangedEvent(List.of(), List.of(), true));
+        return rowsAffected;
+    }
+
+    /**
+     * Maps a row of an order item joined with its product to an OrderItemDetails object.
+     *
+     * @param rs The result set to map.
+     * @return The order item details object.
+     * @throws SQLException If an error occurs while mapping the result set.
+     */
+    private OrderItemDetails mapToOrderItemDetails(ResultSet rs) throws SQLException {
+        int productId = rs.getInt("product_id");
+        Product product = rs.wasNull() ? null : new Product(productId, rs.getString("name"), rs.getBigDecimal("price"));
+        return new OrderItemDetails(
+                rs.getInt("id"),
+                rs.getInt("quantity"),
+                product
+        );
     }
 
     /**
@@ -123,7 +254,7 @@ public class OrderItemDao {
      * @return The order item object.
      * @throws SQLException If an error occurs while mapping the result set.
      */
-    private OrderItem mapToOrderItem(ResultSet rs, int rowNum) throws SQLException {
+    OrderItem mapToOrderItem(ResultSet rs, int rowNum) throws SQLException {
         return new OrderItem(
                 rs.getInt("id"),
                 rs.getInt("order_id"),
@@ -1,37 +1,80 @@
 package org.example.daos;
 
+import org.example.events.ProductChangedEvent;
 import org.example.exceptions.DaoException;
+import org.example.exceptions.NotFoundException;
 import org.example.models.Product;
+import org.example.models.ProductQuery;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Data access object for products.
  */
 @Component
 public class ProductDao {
+    /**
+     * The number of decimal places of the price column.
+     */
+    private static final int PRICE_SCALE = 2;
+
+    /**
+     * The number of rows the driver fetches per round trip when streaming products.
+     * Only streaming reads set a fetch size, which opens a server-side cursor; the shared template
+     * leaves it unset, so ordinary reads fetch their rows in one go.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
     /**
      * The JDBC template for querying the database.
      */
     private final JdbcTemplate jdbcTemplate;
 
+    /**
+     * The named parameter JDBC template for queries with list parameters.
+     */
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * The publisher that announces every product written.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * Creates a new product data access object
      *
-     * @param dataSource The data source for the DAO.
+     * @param jdbcTemplate The shared JDBC template for the DAO.
+     * @param namedParameterJdbcTemplate The shared named parameter JDBC template for the DAO.
+     * @param eventPublisher The publisher that announces every product written.
      */
-    public ProductDao(DataSource dataSource) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    public ProductDao(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                      ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -39,16 +82,101 @@ public class ProductDao {
      *
      * @return List of all products.
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<Product> getProducts() {
         return jdbcTemplate.query("SELECT * FROM products", this::mapToProduct);
     }
 
     /**
-     * Gets a product by id.
+     * Gets the version of the catalog, which changes whenever a product is created, updated or deleted,
+     * whichever instance or client wrote it. It is a counter in a single row that database triggers
+     * bump on every product write, so reading it is one primary key lookup.
+     *
+     * @return The version.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public long getCatalogVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM catalog_version WHERE id = 1", Long.class);
+    }
+
+    /**
+     * Gets a page of products ordered by id, starting after the given id.
+     *
+     * @param afterId The id of the last product of the previous page (0 for the first page).
+     * @param limit The maximum number of products to return.
+     * @return List of at most {@code limit} products with an id greater than {@code afterId}.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<Product> getProductsAfter(int afterId, int limit) {
+        return jdbcTemplate.query("SELECT * FROM products WHERE id > ? ORDER BY id LIMIT ?", this::mapToProduct, afterId, limit);
+    }
+
+    /**
+     * Gets the products matching a query's filters, sorted and limited in the database.
+     * The SQL only varies with which filters are set and the sort, never with their values,
+     * so queries of the same shape reuse the same cached prepared statement.
+     *
+     * @param query The filters, sort and limit.
+     * @return List of at most {@code query.getLimit()} matching products.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<Product> getProductsMatching(ProductQuery query) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM products WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (query.getMinPrice() != null) {
+            sql.append(" AND price >= ?");
+            args.add(query.getMinPrice());
+        }
+        if (query.getMaxPrice() != null) {
+            sql.append(" AND price <= ?");
+            args.add(query.getMaxPrice());
+        }
+        if (query.getNamePrefix() != null) {
+            sql.append(" AND name LIKE ? ESCAPE '!'");
+            args.add(query.getNamePrefix().replaceAll("[!%_]", "!$0") + "%");
+        }
+        if (query.getAfterId() != null) {
+            sql.append(query.isDescending() ? " AND id < ?" : " AND id > ?");
+            args.add(query.getAfterId());
+        }
+
+        String direction = query.isDescending() ? " DESC" : " ASC";
+        switch (query.getSort()) {
+            case NAME -> sql.append(" ORDER BY name").append(direction).append(", id").append(direction);
+            case PRICE -> sql.append(" ORDER BY price").append(direction).append(", id").append(direction);
+            default -> sql.append(" ORDER BY id").append(direction);
+        }
+        sql.append(" LIMIT ?");
+        args.add(query.getLimit());
+
+        return jdbcTemplate.query(sql.toString(), this::mapToProduct, args.toArray());
+    }
+
+    /**
+     * Streams all products ordered by id, handing each one to the consumer as it is read
+     * from the result set instead of collecting the whole table into a list.
+     *
+     * @param consumer The consumer that receives each product.
+     */
+    public void streamProducts(Consumer<Product> consumer) {
+        PreparedStatementCreator psc = con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT * FROM products ORDER BY id", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        };
+        jdbcTemplate.query(psc, rs -> {
+            consumer.accept(mapToProduct(rs, 0));
+        });
+    }
+
+    /**
+     * Gets a product by id. Reads from the primary, since the result fills the products cache,
+     * and a replica that has not caught up could put a changed or deleted product back into it.
      *
      * @param id The id of the product.
      * @return The product with the given id.
      */
+    @Cacheable(cacheNames = "products", key = "#id", unless = "#result == null")
     public Product getProductById(int id) {
         try {
             return jdbcTemplate.queryForObject("SELECT * FROM products WHERE id = ?", this::mapToProduct, id);
@@ -57,41 +185,70 @@ public class ProductDao {
         }
     }
 
+    /**
+     * Gets the prices of several products in a single query.
+     *
+     * @param ids The ids of the products.
+     * @return Map from product id to price. Products that do not exist have no entry.
+     */
+    public Map<Integer, BigDecimal> getPricesByIds(Collection<Integer> ids) {
+        Map<Integer, BigDecimal> prices = new HashMap<>();
+        if (ids.isEmpty()) {
+            return prices;
+        }
+
+        namedParameterJdbcTemplate.query("SELECT id, price FROM products WHERE id IN (:ids)", Map.of("ids", ids), rs -> {
+            prices.put(rs.getInt("id"), rs.getBigDecimal("price"));
+        });
+        return prices;
+    }
+
     /**
      * Creates a new product.
      *
+     * The product is built from the bound values and the generated key, so no row is read back.
+     *
      * @param product The product to create.
      * @return The product created.
      */
+    @CachePut(cacheNames = "products", key = "#result.id")
     public Product createProduct(Product product) {
-        try {
-            PreparedStatementCreator psc = con -> {
-                PreparedStatement ps = con.prepareStatement("INSERT INTO products (name, price) VALUES (?,?)", new String[]{"id"});
-                ps.setString(1, product.getName());
-                ps.setString(2, product.getPrice().toString());
-                return ps;
-            };
-
-            KeyHolder keyHolder = new GeneratedKeyHolder();
-            jdbcTemplate.update(psc, keyHolder);
-            Number key = keyHolder.getKey();
-            return getProductById(key.intValue());
-        } catch (EmptyResultDataAccessException e) {
+        BigDecimal price = toColumnScale(product.getPrice());
+        PreparedStatementCreator psc = con -> {
+            PreparedStatement ps = con.prepareStatement("INSERT INTO products (name, price) VALUES (?,?)", new String[]{"id"});
+            ps.setString(1, product.getName());
+            ps.setBigDecimal(2, price);
+            return ps;
+        };
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(psc, keyHolder);
+        Number key = keyHolder.getKey();
+        if (key == null)
             throw new DaoException("Failed to create product.");
-        }
+        Product created = new Product(key.intValue(), product.getName(), price);
+        eventPublisher.publishEvent(new ProductChangedEvent(created.getId(), created));
+        return created;
     }
 
     /**
      * Updates a product.
      *
+     * The product is built from the bound values, so no row is read back.
+     *
      * @param product The product to update.
      * @return The updated product.
+     * @throws NotFoundException If no product has the given id.
      */
+    @CachePut(cacheNames = "products", key = "#product.id")
     public Product updateProduct(Product product) {
-        int rowsAffected = jdbcTemplate.update("UPDATE products SET name = ?, price = ? WHERE id = ?", product.getName(), product.getPrice(), product.getId());
+        BigDecimal price = toColumnScale(product.getPrice());
+        int rowsAffected = jdbcTemplate.update("UPDATE products SET name = ?, price = ? WHERE id = ?", product.getName(), price, product.getId());
         if (rowsAffected == 0)
-            throw new DaoException("Zero rows affected, expected at least one.");
-        return getProductById(product.getId());
+            throw new NotFoundException("Zero rows affected, expected at least one.");
+        Product updated = new Product(product.getId(), product.getName(), price);
+        eventPublisher.publishEvent(new ProductChangedEvent(updated.getId(), updated));
+        return updated;
     }
 
     /**
@@ -100,8 +257,22 @@ public class ProductDao {
      * @param id The id of the product.
      * @return The number of rows affected (1 if a product was deleted, 0 if no product was found).
      */
+    @CacheEvict(cacheNames = "products", key = "#id")
     public int deleteProduct(int id) {
-        return jdbcTemplate.update("DELETE FROM products WHERE id = ?", id);
+        int rowsAffected = jdbcTemplate.update("DELETE FROM products WHERE id = ?", id);
+        if (rowsAffected > 0)
+            eventPublisher.publishEvent(new ProductChangedEvent(id, null));
+        return rowsAffected;
+    }
+
+    /**
+     * Rounds a price the same way the price column does when it is stored.
+     *
+     * @param price The price to round, may be null.
+     * @return The rounded price, or null if the price is null.
+     */
+    private BigDecimal toColumnScale(BigDecimal price) {
+        return price != null ? price.setScale(PRICE_SCALE, RoundingMode.HALF_UP) : null;
     }
 
     /**
@@ -112,7 +283,7 @@ public class ProductDao {
      * @return The product object.
      * @throws SQLException If an error occurs while mapping the result set.
      */
-    private Product mapToProduct(ResultSet rs, int rowNum) throws SQLException {
+    Product mapToProduct(ResultSet rs, int rowNum) throws SQLException {
         return new Product(
                 rs.getInt("id"),
                 rs.getString("name"),
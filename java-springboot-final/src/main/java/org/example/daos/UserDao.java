@@ -1,16 +1,24 @@
 package org.example.daos;
 
+import org.example.events.UserDeletedEvent;
 import org.example.exceptions.DaoException;
+import org.example.exceptions.NotFoundException;
 import org.example.models.User;
+import org.example.models.UserWithRoles;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.sql.DataSource;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -28,15 +36,22 @@ public class UserDao {
      */
     private final PasswordEncoder passwordEncoder;
 
+    /**
+     * The publisher that announces every user deleted.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * Creates a new user data access object.
      *
-     * @param dataSource The data source for the DAO.
+     * @param jdbcTemplate The shared JDBC template for the DAO.
      * @param passwordEncoder The password encoder for the DAO.
+     * @param eventPublisher The publisher that announces every user deleted.
      */
-    public UserDao(DataSource dataSource, PasswordEncoder passwordEncoder) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    public UserDao(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -44,12 +59,14 @@ public class UserDao {
      *
      * @return List of User
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<User> getUsers() {
         return jdbcTemplate.query("SELECT * FROM users ORDER BY username;", this::mapToUser);
     }
 
     /**
-     * Gets a user by username.
+     * Gets a user by username. Reads from the primary, since a replica that has not caught up
+     * could still hand out a password that was changed.
      *
      * @param username The username of the user.
      * @return User
@@ -62,36 +79,53 @@ public class UserDao {
         }
     }
 
+    /**
+     * Gets a user together with their roles in a single query. Reads from the primary, since the
+     * result fills the user details cache, and a replica that has not caught up could put a revoked
+     * role or an old password back into it for as long as the entry lives.
+     *
+     * @param username The username of the user.
+     * @return The user with their roles, or null if the user does not exist.
+     */
+    public UserWithRoles getUserWithRoles(String username) {
+        String sql = "SELECT u.username, u.password, r.role FROM users u LEFT JOIN roles r ON r.username = u.username WHERE u.username = ?";
+        ResultSetExtractor<UserWithRoles> extractor = this::mapToUserWithRoles;
+        return jdbcTemplate.query(sql, extractor, username);
+    }
+
     /**
      * Creates a new user.
+     * The user is built from the bound values, so no row is read back.
+     *
      * @param user The user to create.
      * @return User The created user.
      */
     public User createUser(User user) {
         String hashedPassword = passwordEncoder.encode(user.getPassword());
         String sql = "INSERT INTO users (username, password) VALUES (?,?);";
-        try {
-            jdbcTemplate.update(sql, user.getUsername(), hashedPassword);
-            return getUserByUsername(user.getUsername());
-        } catch (EmptyResultDataAccessException e) {
+        int rowsAffected = jdbcTemplate.update(sql, user.getUsername(), hashedPassword);
+        if (rowsAffected == 0)
             throw new DaoException("Failed to create user.");
-        }
+        return new User(user.getUsername(), hashedPassword);
     }
 
     /**
      * Updates a user's password.
+     * The user is built from the bound values, so no row is read back.
      *
      * @param user The user to update.
      * @return User
+     * @throws NotFoundException If no user has the given username.
      */
+    @CacheEvict(cacheNames = "userDetails", key = "#user.username")
     public User updatePassword(User user) {
         String hashedPassword = passwordEncoder.encode(user.getPassword());
         String sql = "UPDATE users SET password = ? WHERE username = ?";
         int rowsAffected = jdbcTemplate.update(sql, hashedPassword, user.getUsername());
         if (rowsAffected == 0) {
-            throw new DaoException("Zero rows affected, expected at least one.");
+            throw new NotFoundException("Zero rows affected, expected at least one.");
         } else {
-            return getUserByUsername(user.getUsername());
+            return new User(user.getUsername(), hashedPassword);
         }
     }
 
@@ -100,9 +134,13 @@ public class UserDao {
      *
      * @param username The username of the user.
      */
+    @CacheEvict(cacheNames = "userDetails", key = "#username")
     public int deleteUser(String username) {
         String sql = "DELETE FROM users WHERE username = ? ";
-        return jdbcTemplate.update(sql, username);
+        int rowsAffected = jdbcTemplate.update(sql, username);
+        if (rowsAffected > 0)
+            eventPublisher.publishEvent(new UserDeletedEvent(username));
+        return rowsAffected;
     }
 
     /**
@@ -111,6 +149,7 @@ public class UserDao {
      * @param username The username of the user.
      * @return List of String
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<String> getRoles(String username) {
         return jdbcTemplate.queryForList("SELECT role FROM roles WHERE username = ?;", String.class, username);
     }
@@ -122,6 +161,7 @@ public class UserDao {
      * @param role The role to add.
      * @return List of String
      */
+    @CacheEvict(cacheNames = "userDetails", key = "#username")
     public List<String> addRole(String username, String role) {
         try {
             String sql = "INSERT INTO roles (username, role) VALUES (?,?)";
@@ -137,11 +177,37 @@ public class UserDao {
      * @param username The username of the user.
      * @param role The role to delete.
      */
+    @CacheEvict(cacheNames = "userDetails", key = "#username")
     public int deleteRole(String username, String role) {
         String sql = "DELETE FROM roles WHERE username = ? AND role = ?";
         return jdbcTemplate.update(sql, username, role);
     }
 
+    /**
+     * Maps the rows of a user joined with their roles to a UserWithRoles object,
+     * collecting the roles in a single pass over the ResultSet.
+     *
+     * @param resultSet The result set to map.
+     * @return UserWithRoles The user with their roles, or null if the result set is empty.
+     * @throws SQLException If an error occurs while mapping the result set.
+     */
+    private UserWithRoles mapToUserWithRoles(ResultSet resultSet) throws SQLException {
+        if (!resultSet.next()) {
+            return null;
+        }
+
+        String username = resultSet.getString("username");
+        String password = resultSet.getString("password");
+        List<String> roles = new ArrayList<>();
+        do {
+            String role = resultSet.getString("role");
+            if (role != null) {
+                roles.add(role);
+            }
+        } while (resultSet.next());
+        return new UserWithRoles(username, password, roles);
+    }
+
     /**
      * Maps a row in the ResultSet to a User object.
      *
@@ -150,7 +216,7 @@ public class UserDao {
      * @return User The user object.
      * @throws SQLException If an error occurs while mapping the result set.
      */
-    private User mapToUser(ResultSet resultSet, int rowNumber) throws SQLException {
+    User mapToUser(ResultSet resultSet, int rowNumber) throws SQLException {
         String username = resultSet.getString("username");
         return new User(
                 username,
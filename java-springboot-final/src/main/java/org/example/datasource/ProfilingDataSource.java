@@ -0,0 +1,314 @@
+package org.example.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data source that hands every statement run on its connections to a {@link QueryProfiler}.
+ * Connections and statements are wrapped in proxies that note the types of the parameters bound
+ * and time each execution. A query is timed from the moment it is sent until its statement is
+ * closed or run again, so the time spent streaming rows is counted too without the result set
+ * being wrapped; reading rows therefore costs nothing extra. Updates and batches record the rows
+ * they affected, while queries record none, as their rows are counted per DAO method instead.
+ */
+public class ProfilingDataSource extends DelegatingDataSource implements AutoCloseable {
+    /**
+     * The profiler the executions are recorded with.
+     */
+    private final QueryProfiler profiler;
+
+    /**
+     * Creates a new profiling data source.
+     *
+     * @param targetDataSource The data source whose statements are profiled.
+     * @param profiler The profiler the executions are recorded with.
+     */
+    public ProfilingDataSource(DataSource targetDataSource, QueryProfiler profiler) {
+        super(targetDataSource);
+        this.profiler = profiler;
+    }
+
+    /**
+     * Gets a connection whose statements are profiled.
+     *
+     * @return The connection.
+     * @throws SQLException If the target data source fails to provide a connection.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    /**
+     * Gets a connection for the given credentials whose statements are profiled.
+     *
+     * @param username The username.
+     * @param password The password.
+     * @return The connection.
+     * @throws SQLException If the target data source fails to provide a connection.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Closes the target data source if it can be closed, since the container closes this data source in its place.
+     *
+     * @throws Exception If the target data source fails to close.
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Wraps a connection so that the statements it creates are profiled.
+     *
+     * @param connection The connection.
+     * @return The wrapped connection.
+     */
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    /**
+     * Calls a method on the object a proxy wraps, rethrowing what the method threw.
+     *
+     * @param target The wrapped object.
+     * @param method The method.
+     * @param args The arguments.
+     * @return The result of the method.
+     * @throws Throwable What the method threw.
+     */
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Proxy handler for a connection, wrapping each statement it creates.
+     */
+    private class ConnectionHandler implements InvocationHandler {
+        /**
+         * The wrapped connection.
+         */
+        private final Connection connection;
+
+        /**
+         * Creates a new connection handler.
+         *
+         * @param connection The wrapped connection.
+         */
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Passes a call on to the connection, wrapping any statement it returns together with its SQL.
+         *
+         * @param proxy The proxy.
+         * @param method The method called.
+         * @param args The arguments.
+         * @return The result of the call.
+         * @throws Throwable What the connection threw.
+         */
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // Transaction synchronization compares connections, so a proxy must only equal itself
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            } else if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+
+            Object result = ProfilingDataSource.invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Proxy handler for a statement, timing each execution and noting its bind parameters.
+     */
+    private class StatementHandler implements InvocationHandler {
+        /**
+         * The wrapped statement.
+         */
+        private final Statement statement;
+
+        /**
+         * The SQL the statement was prepared with, or null for a plain statement.
+         */
+        private final String preparedSql;
+
+        /**
+         * The types of the parameters bound since they were last cleared, by position.
+         */
+        private final List<String> parameterTypes = new ArrayList<>();
+
+        /**
+         * The SQL of the query whose results may still be being read, or null if there is none.
+         */
+        private String openSql;
+
+        /**
+         * When the query whose results may still be being read was sent, from {@link System#nanoTime()}.
+         */
+        private long openStart;
+
+        /**
+         * Creates a new statement handler.
+         *
+         * @param statement The wrapped statement.
+         * @param preparedSql The SQL the statement was prepared with, or null for a plain statement.
+         */
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        /**
+         * Passes a call on to the statement, noting bound parameters and timing executions.
+         *
+         * @param proxy The proxy.
+         * @param method The method called.
+         * @param args The arguments.
+         * @return The result of the call.
+         * @throws Throwable What the statement threw.
+         */
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") || args[1] == null ? "null" : args[1].getClass().getSimpleName());
+            } else if (name.equals("clearParameters")) {
+                parameterTypes.clear();
+            } else if (name.equals("close")) {
+                finishQuery();
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            return ProfilingDataSource.invoke(statement, method, args);
+        }
+
+        /**
+         * Runs an execution and records it, or for a query, leaves it open so it is recorded once
+         * the statement is closed or run again. A plain {@code execute} that reports a result set
+         * is a query too; one that reports an update count records that count.
+         *
+         * @param method The execute method called.
+         * @param args The arguments.
+         * @return The result of the execution.
+         * @throws Throwable What the statement threw.
+         */
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finishQuery();
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = ProfilingDataSource.invoke(statement, method, args);
+            } catch (Throwable e) {
+                record(sql, System.nanoTime() - start, 0);
+                throw e;
+            }
+
+            if (result instanceof ResultSet || Boolean.TRUE.equals(result)) {
+                openSql = sql;
+                openStart = start;
+                return result;
+            }
+            long nanos = System.nanoTime() - start;
+            record(sql, nanos, countRows(Boolean.FALSE.equals(result) ? statement.getUpdateCount() : result));
+            return result;
+        }
+
+        /**
+         * Records the query that was left open, if there is one.
+         */
+        private void finishQuery() {
+            if (openSql != null) {
+                record(openSql, System.nanoTime() - openStart, 0);
+                openSql = null;
+            }
+        }
+
+        /**
+         * Records an execution with the profiler.
+         *
+         * @param sql The SQL executed.
+         * @param nanos The time the execution took, in nanoseconds.
+         * @param rows The number of rows affected.
+         */
+        private void record(String sql, long nanos, long rows) {
+            if (sql != null) {
+                profiler.record(sql, nanos, rows, parameterTypes.isEmpty() ? null : List.copyOf(parameterTypes));
+            }
+        }
+
+        /**
+         * Notes the type of a bound parameter.
+         *
+         * @param index The position of the parameter, starting at 1.
+         * @param type The type of the parameter.
+         */
+        private void bind(int index, String type) {
+            while (parameterTypes.size() < index) {
+                parameterTypes.add("unset");
+            }
+            parameterTypes.set(index - 1, type);
+        }
+
+        /**
+         * Counts the rows affected by an update or a batch.
+         *
+         * @param result The result of the execution.
+         * @return The number of rows affected.
+         */
+        private static long countRows(Object result) {
+            if (result instanceof Number number) {
+                return Math.max(number.longValue(), 0);
+            } else if (result instanceof int[] counts) {
+                long rows = 0;
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+                return rows;
+            } else if (result instanceof long[] counts) {
+                long rows = 0;
+                for (long count : counts) {
+                    rows += Math.max(count, 0);
+                }
+                return rows;
+            }
+            return 0;
+        }
+    }
+}
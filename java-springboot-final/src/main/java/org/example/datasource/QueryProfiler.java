@@ -0,0 +1,209 @@
+package org.example.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.models.QueryStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Profiler that aggregates the SQL statements run through a {@link ProfilingDataSource} by fingerprint,
+ * the statement with its literals and bind parameters replaced by placeholders, so that every execution
+ * of {@code SELECT * FROM orders WHERE username = ?} counts towards the same entry whatever the username.
+ * Any execution slower than {@code webstore.query-profiler.slow-threshold} is logged with the types of
+ * its bind parameters, never their values. Nothing is recorded unless the profiling data source is
+ * enabled with {@code webstore.query-profiler.enabled}.
+ */
+@Component
+public class QueryProfiler {
+    /**
+     * The fingerprint that statements are counted under once the profiler holds as many fingerprints as allowed.
+     */
+    static final String OTHER_FINGERPRINT = "(other statements)";
+
+    /**
+     * The most distinct SQL strings whose fingerprints are remembered.
+     */
+    private static final int MAX_CACHED_SQL = 10_000;
+
+    /**
+     * Matches runs of whitespace.
+     */
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Matches quoted string literals.
+     */
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    /**
+     * Matches numeric literals that are not part of an identifier.
+     */
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    /**
+     * Matches an IN list of placeholders, whose length varies with the number of values bound.
+     */
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    /**
+     * The logger slow statements are written to.
+     */
+    private static final Logger log = LoggerFactory.getLogger(QueryProfiler.class);
+
+    /**
+     * The execution time above which a statement is logged, in nanoseconds.
+     */
+    private final long slowThresholdNanos;
+
+    /**
+     * The most fingerprints kept before further statements are counted together.
+     */
+    private final int maxFingerprints;
+
+    /**
+     * The fingerprint of each SQL string seen recently, so each string is normalized once.
+     */
+    private final Cache<String, String> fingerprints = Caffeine.newBuilder().maximumSize(MAX_CACHED_SQL).build();
+
+    /**
+     * The running totals of each fingerprint.
+     */
+    private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new query profiler.
+     *
+     * @param slowThreshold The execution time above which a statement is logged.
+     * @param maxFingerprints The most fingerprints kept before further statements are counted together.
+     */
+    public QueryProfiler(@Value("${webstore.query-profiler.slow-threshold:200ms}") Duration slowThreshold,
+                         @Value("${webstore.query-profiler.max-fingerprints:1000}") int maxFingerprints) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    /**
+     * Records one execution of a statement, logging it if it was slow.
+     *
+     * @param sql The SQL of the statement.
+     * @param nanos The time the execution took, including reading its results, in nanoseconds.
+     * @param rows The number of rows affected, or 0 for a query.
+     * @param parameterTypes The types of the bind parameters, in order, or null if none were bound.
+     */
+    public void record(String sql, long nanos, long rows, List<String> parameterTypes) {
+        String fingerprint = fingerprint(sql);
+        Totals entry = totals.get(fingerprint);
+        if (entry == null) {
+            entry = totals.size() < maxFingerprints
+                    ? totals.computeIfAbsent(fingerprint, key -> new Totals())
+                    : totals.computeIfAbsent(OTHER_FINGERPRINT, key -> new Totals());
+        }
+        entry.count.increment();
+        entry.nanos.add(nanos);
+        entry.maxNanos.accumulate(nanos);
+        entry.rows.add(rows);
+
+        if (nanos > slowThresholdNanos && log.isWarnEnabled()) {
+            log.warn("Slow query took {} ms and affected {} rows: {} with parameters {}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), rows, fingerprint, parameterTypes != null ? parameterTypes : List.of());
+        }
+    }
+
+    /**
+     * Gets the statistics of the fingerprints that took the most of a measure.
+     *
+     * @param comparator The measure, compared from the top.
+     * @param limit The maximum number of fingerprints to return.
+     * @return The statistics, from the top.
+     */
+    public List<QueryStatistics> getTop(Comparator<QueryStatistics> comparator, int limit) {
+        List<QueryStatistics> statistics = new ArrayList<>(totals.size());
+        for (Map.Entry<String, Totals> entry : totals.entrySet()) {
+            Totals value = entry.getValue();
+            statistics.add(new QueryStatistics(entry.getKey(), value.count.sum(), toMillis(value.nanos.sum()),
+                    toMillis(value.maxNanos.get()), value.rows.sum()));
+        }
+        statistics.sort(comparator);
+        return statistics.size() > limit ? statistics.subList(0, limit) : statistics;
+    }
+
+    /**
+     * Discards every statistic, so that profiling starts over.
+     */
+    public void reset() {
+        totals.clear();
+    }
+
+    /**
+     * Gets the fingerprint of a statement.
+     *
+     * @param sql The SQL of the statement.
+     * @return The fingerprint.
+     */
+    String fingerprint(String sql) {
+        return fingerprints.get(sql, QueryProfiler::normalize);
+    }
+
+    /**
+     * Replaces the literals of a statement with placeholders, collapses IN lists of placeholders
+     * to a single one and collapses whitespace.
+     *
+     * @param sql The SQL of the statement.
+     * @return The normalized SQL.
+     */
+    static String normalize(String sql) {
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+        return IN_LIST.matcher(normalized).replaceAll("IN (?)");
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds.
+     *
+     * @param nanos The nanoseconds.
+     * @return The milliseconds.
+     */
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * The running totals of one fingerprint, safe to update from many threads at once.
+     */
+    private static class Totals {
+        /**
+         * The number of executions.
+         */
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * The total execution time, in nanoseconds.
+         */
+        private final LongAdder nanos = new LongAdder();
+
+        /**
+         * The longest execution time, in nanoseconds.
+         */
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        /**
+         * The total number of rows.
+         */
+        private final LongAdder rows = new LongAdder();
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration that profiles every statement run through the {@code dataSource} bean the DAOs use
+ * when {@code webstore.query-profiler.enabled} is true. It is off unless asked for, since every
+ * connection and statement then goes through a proxy. Only that bean is wrapped, so when reads
+ * are routed to replicas each statement is still recorded once.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "webstore.query-profiler.enabled", havingValue = "true")
+public class QueryProfilingConfiguration {
+    /**
+     * The name of the data source bean the DAOs use.
+     */
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    /**
+     * Creates the post-processor that wraps the data source in a {@link ProfilingDataSource}.
+     *
+     * @param profiler The provider of the profiler the statements are recorded with.
+     * @return The post-processor.
+     */
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<QueryProfiler> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN_NAME.equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new ProfilingDataSource(dataSource, profiler.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
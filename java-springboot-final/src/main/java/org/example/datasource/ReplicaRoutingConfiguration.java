@@ -0,0 +1,90 @@
+package org.example.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.filters.ReplicaPinningFilter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration that splits reads from writes when replica URLs are set in {@code webstore.datasource.replica-urls}.
+ * The primary is the pool configured by {@code spring.datasource}, and every replica gets a pool with the same
+ * settings and credentials. Read-only transactions go to a replica picked by
+ * {@code webstore.datasource.replica-selection} ({@code round-robin} or {@code least-latency}).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "webstore.datasource.replica-urls")
+public class ReplicaRoutingConfiguration {
+    /**
+     * Creates the pool for the primary database.
+     *
+     * @param properties The {@code spring.datasource} properties.
+     * @return The primary data source.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the data source that routes connections between the primary and pools for each replica.
+     *
+     * @param primary The primary data source.
+     * @param replicaUrls The JDBC URLs of the replicas.
+     * @param selection How a replica is picked.
+     * @return The routing data source.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                             @Value("${webstore.datasource.replica-urls}") List<String> replicaUrls,
+                                                             @Value("${webstore.datasource.replica-selection:round-robin}") ReplicaRoutingDataSource.Selection selection) {
+        List<HikariDataSource> replicas = new ArrayList<>(replicaUrls.size());
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            var config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(replicaUrls.get(i));
+            config.setPoolName(primary.getPoolName() != null ? primary.getPoolName() + "-replica-" + i : "replica-" + i);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, selection);
+    }
+
+    /**
+     * Creates the data source used by the application, which defers picking the primary or a replica
+     * until a statement runs and the read-only flag of its transaction is known.
+     *
+     * @param routingDataSource The routing data source.
+     * @return The data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        var dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        return dataSource;
+    }
+
+    /**
+     * Creates the filter that limits pinning to the primary to a single request.
+     *
+     * @return The filter.
+     */
+    @Bean
+    public ReplicaPinningFilter replicaPinningFilter() {
+        return new ReplicaPinningFilter();
+    }
+}
@@ -0,0 +1,204 @@
+package org.example.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Data source that sends the connections of read-only transactions to replicas and everything else to the primary.
+ * A replica is picked round-robin or by the lowest recent connection latency, and if no replica hands out a
+ * connection the primary is used instead. Once a thread has used the primary outside a read-only transaction
+ * it stays pinned to the primary until {@link #clearPin()}, so a request that wrote a row reads it back from
+ * the primary instead of a replica that may not have caught up yet.
+ * <p>
+ * DAO reads mark themselves with {@code @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)},
+ * which flags the thread as read-only without opening a physical transaction, and joins a surrounding
+ * read-write transaction so that its reads stay on the primary. A read-only transaction that does start
+ * a physical transaction only sets its flag after asking for a connection, so this data source must be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    /**
+     * How a replica is picked for a read-only transaction.
+     */
+    public enum Selection {
+        /**
+         * Each replica in turn.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * The replica that has recently handed out connections the fastest.
+         */
+        LEAST_LATENCY
+    }
+
+    /**
+     * Every how many picks a least-latency selection goes round-robin instead, so slow replicas get re-measured.
+     */
+    private static final int PROBE_INTERVAL = 16;
+
+    /**
+     * Whether the current thread is pinned to the primary.
+     */
+    private static final ThreadLocal<Boolean> PINNED = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * The primary data source.
+     */
+    private final DataSource primary;
+
+    /**
+     * The replica data sources.
+     */
+    private final List<? extends DataSource> replicas;
+
+    /**
+     * How a replica is picked.
+     */
+    private final Selection selection;
+
+    /**
+     * The counter used to pick the next replica round-robin.
+     */
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * The moving average of the connection latency of each replica in nanoseconds.
+     */
+    private final AtomicLongArray latencies;
+
+    /**
+     * Creates a new replica routing data source.
+     *
+     * @param primary The primary data source.
+     * @param replicas The replica data sources.
+     * @param selection How a replica is picked.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, Selection selection) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.latencies = new AtomicLongArray(replicas.size());
+    }
+
+    /**
+     * Pins the current thread to the primary.
+     */
+    public static void pinToPrimary() {
+        PINNED.set(true);
+    }
+
+    /**
+     * Checks whether the current thread is pinned to the primary.
+     *
+     * @return Whether the current thread is pinned.
+     */
+    public static boolean isPinned() {
+        return PINNED.get();
+    }
+
+    /**
+     * Releases the current thread from the primary, typically once a request completes.
+     */
+    public static void clearPin() {
+        PINNED.remove();
+    }
+
+    /**
+     * Gets a connection from a replica inside a read-only transaction, and from the primary otherwise.
+     *
+     * @return The connection.
+     * @throws SQLException If the primary cannot hand out a connection.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!replicas.isEmpty() && !PINNED.get() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            int first = pick();
+            for (int i = 0; i < replicas.size(); i++) {
+                int replica = (first + i) % replicas.size();
+                long start = System.nanoTime();
+                try {
+                    Connection connection = replicas.get(replica).getConnection();
+                    recordLatency(replica, System.nanoTime() - start);
+                    return connection;
+                } catch (SQLException e) {
+                    logger.warn("Replica " + replica + " is unavailable, trying the next data source", e);
+                    latencies.set(replica, Long.MAX_VALUE / 2);
+                }
+            }
+            return primary.getConnection();
+        }
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinToPrimary();
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Gets a connection with the given credentials, which always comes from the primary.
+     *
+     * @param username The username.
+     * @param password The password.
+     * @return The connection.
+     * @throws SQLException If the primary cannot hand out a connection.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        pinToPrimary();
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Closes the replica data sources that can be closed. The primary is left to its owner.
+     *
+     * @throws IOException If a data source cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Picks the replica to try first.
+     *
+     * @return The index of the replica.
+     */
+    private int pick() {
+        int turn = Math.floorMod(next.getAndIncrement(), Integer.MAX_VALUE);
+        if (selection == Selection.ROUND_ROBIN || turn % PROBE_INTERVAL == 0) {
+            return turn % replicas.size();
+        }
+
+        int best = 0;
+        for (int i = 1; i < replicas.size(); i++) {
+            if (latencies.get(i) < latencies.get(best)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Folds a measured connection latency into the moving average of a replica.
+     *
+     * @param replica The index of the replica.
+     * @param nanos The measured latency in nanoseconds.
+     */
+    private void recordLatency(int replica, long nanos) {
+        latencies.getAndUpdate(replica, average -> average == 0 ? nanos : average - average / 8 + nanos / 8);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.events;
+
+import java.util.Collection;
+
+/**
+ * Event published after orders or their items have been created, updated or deleted.
+ * Writers name the users they already know, and otherwise the orders, whose users are looked up
+ * once the write has committed. Writes run as single statements and never read what they replace,
+ * so an event about an order that was moved or deleted, or an item that was updated or deleted,
+ * cannot name everyone affected and is marked partial.
+ */
+public class OrdersChangedEvent {
+    /**
+     * The ids of the orders whose items were written, which still exist after the write.
+     */
+    private final Collection<Integer> orderIds;
+
+    /**
+     * The usernames of the users whose orders were written.
+     */
+    private final Collection<String> usernames;
+
+    /**
+     * Whether users whose orders changed may be missing, because the write did not read what it replaced.
+     */
+    private final boolean partial;
+
+    /**
+     * Creates a new orders changed event naming everyone affected by the write.
+     *
+     * @param orderIds The ids of the orders whose items were written, which still exist after the write.
+     * @param usernames The usernames of the users whose orders were written.
+     */
+    public OrdersChangedEvent(Collection<Integer> orderIds, Collection<String> usernames) {
+        this(orderIds, usernames, false);
+    }
+
+    /**
+     * Creates a new orders changed event.
+     *
+     * @param orderIds The ids of the orders whose items were written, which still exist after the write.
+     * @param usernames The usernames of the users whose orders were written.
+     * @param partial Whether users whose orders changed may be missing, because the write did not read what it replaced.
+     */
+    public OrdersChangedEvent(Collection<Integer> orderIds, Collection<String> usernames, boolean partial) {
+        this.orderIds = orderIds;
+        this.usernames = usernames;
+        this.partial = partial;
+    }
+
+    /**
+     * Gets the ids of the orders whose items were written.
+     *
+     * @return The ids of the orders.
+     */
+    public Collection<Integer> getOrderIds() {
+        return orderIds;
+    }
+
+    /**
+     * Gets the usernames of the users whose orders were written.
+     *
+     * @return The usernames.
+     */
+    public Collection<String> getUsernames() {
+        return usernames;
+    }
+
+    /**
+     * Checks whether users whose orders changed may be missing from the event.
+     *
+     * @return Whether the event is partial.
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.events;
+
+import org.example.models.Product;
+
+/**
+ * Event published after a product has been created, updated or deleted.
+ */
+public class ProductChangedEvent {
+    /**
+     * The id of the product.
+     */
+    private final int id;
+
+    /**
+     * The product as it is now stored, or null if it was deleted.
+     */
+    private final Product product;
+
+    /**
+     * Creates a new product changed event.
+     *
+     * @param id The id of the product.
+     * @param product The product as it is now stored, or null if it was deleted.
+     */
+    public ProductChangedEvent(int id, Product product) {
+        this.id = id;
+        this.product = product;
+    }
+
+    /**
+     * Gets the id of the product.
+     *
+     * @return The id of the product.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the product as it is now stored.
+     *
+     * @return The product, or null if it was deleted.
+     */
+    public Product getProduct() {
+        return product;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.events;
+
+/**
+ * Event published after a user, and with it all of their orders, has been deleted.
+ */
+public class UserDeletedEvent {
+    /**
+     * The username of the user.
+     */
+    private final String username;
+
+    /**
+     * Creates a new user deleted event.
+     *
+     * @param username The username of the user.
+     */
+    public UserDeletedEvent(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Gets the username of the user.
+     *
+     * @return The username of the user.
+     */
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.exceptions;
+
+/**
+ * Exception thrown when a DAO operation targets a row that does not exist.
+ */
+public class NotFoundException extends DaoException {
+    /**
+     * Constructs a new NotFoundException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.filters;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filter that limits how many API requests run at once when requests are handled on virtual threads.
+ * With platform threads Tomcat's pool bounds the number of requests competing for database connections,
+ * but virtual threads remove that bound, so this filter admits at most as many requests as there are
+ * connections and parks the rest until a permit is free. A request that waits longer than the timeout
+ * is rejected with 503 Service Unavailable instead of timing out inside the connection pool.
+ * A request that goes asynchronous, such as one returning a future or a stream, keeps its permit
+ * until the asynchronous processing completes rather than until the filter returns.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class AdmissionFilter extends OncePerRequestFilter {
+    /**
+     * The permits, one per request allowed to run at once.
+     */
+    private final Semaphore permits;
+
+    /**
+     * How long a request may wait for a permit.
+     */
+    private final Duration timeout;
+
+    /**
+     * Creates a new admission filter.
+     *
+     * @param maxConcurrentRequests The number of requests allowed to run at once, by default the connection pool size.
+     * @param timeout How long a request may wait for a permit.
+     * @param meterRegistry The registry the admission gauges are registered with.
+     */
+    public AdmissionFilter(@Value("${webstore.admission.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentRequests,
+                           @Value("${webstore.admission.timeout:5s}") Duration timeout,
+                           MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.timeout = timeout;
+        Gauge.builder("admission.active", () -> maxConcurrentRequests - permits.availablePermits())
+                .description("Number of API requests currently admitted")
+                .register(meterRegistry);
+        Gauge.builder("admission.waiting", permits::getQueueLength)
+                .description("Number of API requests waiting to be admitted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Only API requests touch the database, so everything else is let through without a permit.
+     *
+     * @param request The request.
+     * @return Whether the request bypasses the filter.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    /**
+     * Runs the request once a permit is free, or rejects it if none becomes free in time.
+     * The permit is released when the request completes, which for an asynchronous request is
+     * once its asynchronous processing completes, fails or times out.
+     *
+     * @param request The request.
+     * @param response The response.
+     * @param filterChain The rest of the filter chain.
+     * @throws ServletException If the rest of the chain fails.
+     * @throws IOException If the rest of the chain fails.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is busy");
+            return;
+        }
+
+        Release release = new Release();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * Releases the permit of one request exactly once, either directly or as the listener of its
+     * asynchronous processing, which may report both an error and its completion.
+     */
+    private class Release implements AsyncListener, Runnable {
+        /**
+         * Whether the permit has been released.
+         */
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * Releases the permit unless it has been released already.
+         */
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        /**
+         * Releases the permit once the asynchronous processing completes.
+         *
+         * @param event The event.
+         */
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        /**
+         * Releases the permit once the asynchronous processing times out.
+         *
+         * @param event The event.
+         */
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        /**
+         * Releases the permit once the asynchronous processing fails.
+         *
+         * @param event The event.
+         */
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        /**
+         * Listens to the new asynchronous processing when the request starts it again, since starting
+         * it drops the listeners of the previous one and the request is still running.
+         *
+         * @param event The event.
+         */
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.datasource.ReplicaRoutingDataSource;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filter that scopes the primary pin of {@link ReplicaRoutingDataSource} to a single request.
+ * Reads made after a write in the same request go to the primary, and the next request served
+ * by the same thread starts out reading from the replicas again.
+ */
+public class ReplicaPinningFilter extends OncePerRequestFilter implements Ordered {
+    /**
+     * Runs the request and releases the thread from the primary once it completes.
+     *
+     * @param request The request.
+     * @param response The response.
+     * @param filterChain The rest of the filter chain.
+     * @throws ServletException If the rest of the chain fails.
+     * @throws IOException If the rest of the chain fails.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReplicaRoutingDataSource.clearPin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.clearPin();
+        }
+    }
+
+    /**
+     * Runs before every other filter, so no database access in the request escapes the pin's scope.
+     *
+     * @return The order of the filter.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor that times every call to a DAO method and records how many rows it returned or
+ * affected and whether it failed. The meters of each method are looked up once and kept, so a
+ * call only reads the clock twice and updates meters that already exist. The interceptor itself
+ * allocates nothing per call, but the proxy it runs on does: Spring AOP creates a method invocation
+ * and an argument array for every call, including on DAOs that had no proxy before.
+ */
+public class DaoMetricsInterceptor implements MethodInterceptor {
+    /**
+     * The provider of the registry the meters are registered with, resolved on the first call
+     * so that the registry is fully configured by then.
+     */
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    /**
+     * The meters of each DAO method called so far.
+     */
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new DAO metrics interceptor.
+     *
+     * @param meterRegistry The provider of the registry the meters are registered with.
+     */
+    public DaoMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Calls the DAO method and records its latency, rows and failures.
+     *
+     * @param invocation The call to the DAO method.
+     * @return The result of the DAO method.
+     * @throws Throwable If the DAO method fails.
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        MethodMeters methodMeters = meters.get(method);
+        if (methodMeters == null) {
+            methodMeters = meters.computeIfAbsent(method, this::createMeters);
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            if (method.getReturnType() != void.class) {
+                methodMeters.rows.record(countRows(result));
+            }
+            return result;
+        } catch (Throwable e) {
+            methodMeters.errors.increment();
+            throw e;
+        } finally {
+            methodMeters.calls.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Registers the meters of a DAO method, tagged with the DAO and the method name.
+     *
+     * @param method The DAO method.
+     * @return The meters of the method.
+     */
+    private MethodMeters createMeters(Method method) {
+        MeterRegistry registry = meterRegistry.getObject();
+        String dao = method.getDeclaringClass().getSimpleName();
+        String name = method.getName();
+        return new MethodMeters(
+                Timer.builder("dao.calls")
+                        .description("Time taken by each call to a DAO method")
+                        .tag("dao", dao)
+                        .tag("method", name)
+                        .register(registry),
+                DistributionSummary.builder("dao.rows")
+                        .description("Number of rows returned or affected by each call to a DAO method")
+                        .baseUnit("rows")
+                        .tag("dao", dao)
+                        .tag("method", name)
+                        .register(registry),
+                Counter.builder("dao.errors")
+                        .description("Number of calls to a DAO method that threw an exception")
+                        .tag("dao", dao)
+                        .tag("method", name)
+                        .register(registry));
+    }
+
+    /**
+     * Counts the rows a DAO method returned or affected: the size of a list or map, the number
+     * a write returned, or whether a single row was found.
+     *
+     * @param result The result of the DAO method.
+     * @return The number of rows.
+     */
+    private static double countRows(Object result) {
+        if (result == null) {
+            return 0;
+        } else if (result instanceof Collection<?> collection) {
+            return collection.size();
+        } else if (result instanceof Map<?, ?> map) {
+            return map.size();
+        } else if (result instanceof Number number) {
+            return number.doubleValue();
+        } else {
+            return 1;
+        }
+    }
+
+    /**
+     * The meters of one DAO method.
+     *
+     * @param calls The timer recording the latency of each call.
+     * @param rows The summary recording the rows of each call.
+     * @param errors The counter of failed calls.
+     */
+    private record MethodMeters(Timer calls, DistributionSummary rows, Counter errors) {
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.metrics;
+
+import eu.fraho.spring.securityJwt.base.JwtAuthenticationTokenFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+/**
+ * Configuration that secures the actuator endpoints. The API is secured per controller with
+ * {@code @PreAuthorize}, which the actuator endpoints are not covered by, so they get a filter chain
+ * of their own. Health is open to load balancers and probes, without details. Prometheus can be
+ * scraped with a credential of its own over HTTP Basic, when one is configured, or by an admin.
+ * Every other endpoint authenticates the same bearer tokens as the API and requires the ADMIN authority.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ManagementSecurityConfiguration {
+    /**
+     * The authority of the scrape credential.
+     */
+    private static final String SCRAPE_AUTHORITY = "SCRAPE";
+
+    /**
+     * Creates the filter chain for the actuator endpoints, ahead of the chain for everything else.
+     *
+     * @param http The security builder.
+     * @param jwtAuthenticationTokenFilter The filter authenticating bearer tokens.
+     * @param scrapeUsername The username Prometheus scrapes with.
+     * @param scrapePassword The password Prometheus scrapes with, or empty if only admins may scrape.
+     * @return The filter chain.
+     * @throws Exception If the filter chain cannot be built.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain managementSecurityFilterChain(HttpSecurity http, JwtAuthenticationTokenFilter jwtAuthenticationTokenFilter,
+                                                             @Value("${webstore.management.scrape-username:prometheus}") String scrapeUsername,
+                                                             @Value("${webstore.management.scrape-password:}") String scrapePassword) throws Exception {
+        AuthenticationEntryPoint entryPoint = new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED);
+        http.securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(entryPoint))
+                .addFilterBefore(jwtAuthenticationTokenFilter, UsernamePasswordAuthenticationFilter.class)
+                .authorizeHttpRequests(requests -> requests
+                        .requestMatchers(EndpointRequest.to("health")).permitAll()
+                        .requestMatchers(EndpointRequest.to("prometheus")).hasAnyAuthority("ADMIN", SCRAPE_AUTHORITY)
+                        .anyRequest().hasAuthority("ADMIN"));
+
+        // HTTP Basic only ever checks the scrape credential, never the users of the application
+        if (!scrapePassword.isEmpty()) {
+            http.authenticationManager(new ProviderManager(scrapeAuthenticationProvider(scrapeUsername, scrapePassword)))
+                    .httpBasic(basic -> basic.authenticationEntryPoint(entryPoint));
+        }
+        return http.build();
+    }
+
+    /**
+     * Creates the provider that authenticates the scrape credential and nothing else.
+     *
+     * @param username The username Prometheus scrapes with.
+     * @param password The password Prometheus scrapes with.
+     * @return The provider.
+     */
+    private static DaoAuthenticationProvider scrapeAuthenticationProvider(String username, String password) {
+        PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        var scraper = User.withUsername(username)
+                .password(passwordEncoder.encode(password))
+                .authorities(SCRAPE_AUTHORITY)
+                .build();
+        var provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(scraper));
+        return provider;
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.models;
+
+/**
+ * Model for the statistics of an in-process cache.
+ */
+public class CacheStatistics {
+    /**
+     * The name of the cache.
+     */
+    private String name;
+
+    /**
+     * The approximate number of entries in the cache.
+     */
+    private long size;
+
+    /**
+     * The number of lookups that found a cached entry.
+     */
+    private long hitCount;
+
+    /**
+     * The number of lookups that had to load the entry.
+     */
+    private long missCount;
+
+    /**
+     * The number of entries evicted because of the size bound or expiry.
+     */
+    private long evictionCount;
+
+    /**
+     * Creates new cache statistics.
+     */
+    public CacheStatistics() {
+    }
+
+    /**
+     * Creates new cache statistics.
+     *
+     * @param name The name of the cache.
+     * @param size The approximate number of entries in the cache.
+     * @param hitCount The number of lookups that found a cached entry.
+     * @param missCount The number of lookups that had to load the entry.
+     * @param evictionCount The number of entries evicted.
+     */
+    public CacheStatistics(String name, long size, long hitCount, long missCount, long evictionCount) {
+        this.name = name;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Gets the name of the cache.
+     *
+     * @return String
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the cache.
+     *
+     * @param name The name of the cache.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the approximate number of entries in the cache.
+     *
+     * @return long
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Sets the approximate number of entries in the cache.
+     *
+     * @param size The approximate number of entries in the cache.
+     */
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    /**
+     * Gets the number of lookups that found a cached entry.
+     *
+     * @return long
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Sets the number of lookups that found a cached entry.
+     *
+     * @param hitCount The number of lookups that found a cached entry.
+     */
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    /**
+     * Gets the number of lookups that had to load the entry.
+     *
+     * @return long
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Sets the number of lookups that had to load the entry.
+     *
+     * @param missCount The number of lookups that had to load the entry.
+     */
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    /**
+     * Gets the number of entries evicted.
+     *
+     * @return long
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Sets the number of entries evicted.
+     *
+     * @param evictionCount The number of entries evicted.
+     */
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Gets the ratio of lookups that found a cached entry.
+     *
+     * @return double
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+}
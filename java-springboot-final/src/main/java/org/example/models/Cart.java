@@ -0,0 +1,47 @@
+package org.example.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Model for a shopping cart submitted at checkout.
+ */
+public class Cart {
+    /**
+     * The items of the cart.
+     */
+    private List<CartItem> items = new ArrayList<>();
+
+    /**
+     * Creates a new cart.
+     */
+    public Cart() {
+    }
+
+    /**
+     * Creates a new cart.
+     *
+     * @param items The items of the cart.
+     */
+    public Cart(List<CartItem> items) {
+        this.items = items;
+    }
+
+    /**
+     * Gets the items of the cart.
+     *
+     * @return List of CartItem
+     */
+    public List<CartItem> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets the items of the cart.
+     *
+     * @param items The items of the cart.
+     */
+    public void setItems(List<CartItem> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.models;
+
+/**
+ * Model for a line of a shopping cart.
+ */
+public class CartItem {
+    /**
+     * The ID of the product.
+     */
+    private int productId;
+
+    /**
+     * The quantity of the product.
+     */
+    private int quantity;
+
+    /**
+     * Creates a new cart item.
+     */
+    public CartItem() {
+    }
+
+    /**
+     * Creates a new cart item.
+     *
+     * @param productId The ID of the product.
+     * @param quantity The quantity of the product.
+     */
+    public CartItem(int productId, int quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Gets the ID of the product.
+     *
+     * @return int
+     */
+    public int getProductId() {
+        return productId;
+    }
+
+    /**
+     * Sets the ID of the product.
+     *
+     * @param productId The ID of the product.
+     */
+    public void setProductId(int productId) {
+        this.productId = productId;
+    }
+
+    /**
+     * Gets the quantity of the product.
+     *
+     * @return int
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Sets the quantity of the product.
+     *
+     * @param quantity The quantity of the product.
+     */
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Model for an order together with its items.
+ */
+public class OrderDetails {
+    /**
+     * The ID of the order.
+     */
+    private int id;
+
+    /**
+     * The username of the order.
+     */
+    private String username;
+
+    /**
+     * The items of the order.
+     */
+    private List<OrderItemDetails> items = new ArrayList<>();
+
+    /**
+     * Creates new order details.
+     */
+    public OrderDetails() {
+    }
+
+    /**
+     * Creates new order details.
+     *
+     * @param id The ID of the order.
+     * @param username The username of the order.
+     * @param items The items of the order.
+     */
+    public OrderDetails(int id, String username, List<OrderItemDetails> items) {
+        this.id = id;
+        this.username = username;
+        this.items = items;
+    }
+
+    /**
+     * Gets the ID of the order.
+     *
+     * @return int
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the order.
+     *
+     * @param id The ID of the order.
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the username of the order.
+     *
+     * @return String
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Sets the username of the order.
+     *
+     * @param username The username of the order.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Gets the items of the order.
+     *
+     * @return List of OrderItemDetails
+     */
+    public List<OrderItemDetails> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets the items of the order.
+     *
+     * @param items The items of the order.
+     */
+    public void setItems(List<OrderItemDetails> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.models;
+
+/**
+ * Model for an order item together with the product it refers to.
+ */
+public class OrderItemDetails {
+    /**
+     * The ID of the order item.
+     */
+    private int id;
+
+    /**
+     * The quantity of the product.
+     */
+    private int quantity;
+
+    /**
+     * The product of the order item.
+     */
+    private Product product;
+
+    /**
+     * Creates new order item details.
+     */
+    public OrderItemDetails() {
+    }
+
+    /**
+     * Creates new order item details.
+     *
+     * @param id The ID of the order item.
+     * @param quantity The quantity of the product.
+     * @param product The product of the order item.
+     */
+    public OrderItemDetails(int id, int quantity, Product product) {
+        this.id = id;
+        this.quantity = quantity;
+        this.product = product;
+    }
+
+    /**
+     * Gets the ID of the order item.
+     *
+     * @return int
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the order item.
+     *
+     * @param id The ID of the order item.
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the quantity of the product.
+     *
+     * @return int
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Sets the quantity of the product.
+     *
+     * @param quantity The quantity of the product.
+     */
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    /**
+     * Gets the product of the order item.
+     *
+     * @return Product
+     */
+    public Product getProduct() {
+        return product;
+    }
+
+    /**
+     * Sets the product of the order item.
+     *
+     * @param product The product of the order item.
+     */
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.models;
+
+import java.math.BigDecimal;
+
+/**
+ * Model for the total price of an order.
+ */
+public class OrderTotal {
+    /**
+     * The ID of the order.
+     */
+    private int orderId;
+
+    /**
+     * The username of the order.
+     */
+    private String username;
+
+    /**
+     * The sum of the quantity times the price of each item of the order.
+     */
+    private BigDecimal total;
+
+    /**
+     * Creates a new order total.
+     */
+    public OrderTotal() {
+    }
+
+    /**
+     * Creates a new order total.
+     *
+     * @param orderId The ID of the order.
+     * @param username The username of the order.
+     * @param total The sum of the quantity times the price of each item of the order.
+     */
+    public OrderTotal(int orderId, String username, BigDecimal total) {
+        this.orderId = orderId;
+        this.username = username;
+        this.total = total;
+    }
+
+    /**
+     * Gets the ID of the order.
+     *
+     * @return int
+     */
+    public int getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Sets the ID of the order.
+     *
+     * @param orderId The ID of the order.
+     */
+    public void setOrderId(int orderId) {
+        this.orderId = orderId;
+    }
+
+    /**
+     * Gets the username of the order.
+     *
+     * @return String
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Sets the username of the order.
+     *
+     * @param username The username of the order.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Gets the total price of the order.
+     *
+     * @return BigDecimal
+     */
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    /**
+     * Sets the total price of the order.
+     *
+     * @param total The total price of the order.
+     */
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.models;
+
+import java.math.BigDecimal;
+
+/**
+ * Model for the filters, ordering and page size of a product listing.
+ */
+public class ProductQuery {
+    /**
+     * The fields products can be sorted by.
+     */
+    public enum SortField {
+        /**
+         * Sort by id.
+         */
+        ID,
+
+        /**
+         * Sort by name.
+         */
+        NAME,
+
+        /**
+         * Sort by price.
+         */
+        PRICE
+    }
+
+    /**
+     * The lowest price to include, or null for no lower bound.
+     */
+    private final BigDecimal minPrice;
+
+    /**
+     * The highest price to include, or null for no upper bound.
+     */
+    private final BigDecimal maxPrice;
+
+    /**
+     * The prefix the names must start with, or null for any name.
+     */
+    private final String namePrefix;
+
+    /**
+     * The field to sort by.
+     */
+    private final SortField sort;
+
+    /**
+     * Whether to sort in descending order.
+     */
+    private final boolean descending;
+
+    /**
+     * The id of the last product of the previous page when sorting by id, or null for the first page.
+     */
+    private final Integer afterId;
+
+    /**
+     * The maximum number of products to return.
+     */
+    private final int limit;
+
+    /**
+     * Creates a new product query.
+     *
+     * @param minPrice The lowest price to include, or null for no lower bound.
+     * @param maxPrice The highest price to include, or null for no upper bound.
+     * @param namePrefix The prefix the names must start with, or null for any name.
+     * @param sort The field to sort by.
+     * @param descending Whether to sort in descending order.
+     * @param afterId The id of the last product of the previous page when sorting by id, or null for the first page.
+     * @param limit The maximum number of products to return.
+     */
+    public ProductQuery(BigDecimal minPrice, BigDecimal maxPrice, String namePrefix, SortField sort,
+                        boolean descending, Integer afterId, int limit) {
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.namePrefix = namePrefix;
+        this.sort = sort;
+        this.descending = descending;
+        this.afterId = afterId;
+        this.limit = limit;
+    }
+
+    /**
+     * Gets the lowest price to include.
+     *
+     * @return The lowest price, or null for no lower bound.
+     */
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    /**
+     * Gets the highest price to include.
+     *
+     * @return The highest price, or null for no upper bound.
+     */
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    /**
+     * Gets the prefix the names must start with.
+     *
+     * @return The name prefix, or null for any name.
+     */
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    /**
+     * Gets the field to sort by.
+     *
+     * @return The sort field.
+     */
+    public SortField getSort() {
+        return sort;
+    }
+
+    /**
+     * Gets whether to sort in descending order.
+     *
+     * @return Whether the order is descending.
+     */
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Gets the id of the last product of the previous page when sorting by id.
+     *
+     * @return The id, or null for the first page.
+     */
+    public Integer getAfterId() {
+        return afterId;
+    }
+
+    /**
+     * Gets the maximum number of products to return.
+     *
+     * @return The limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Model for an overview of a user: who they are and what their orders total.
+ */
+public class ProfileOverview {
+    /**
+     * The username of the user.
+     */
+    private String username;
+
+    /**
+     * The roles of the user.
+     */
+    private List<String> roles = new ArrayList<>();
+
+    /**
+     * The totals of the orders of the user.
+     */
+    private List<OrderTotal> orders = new ArrayList<>();
+
+    /**
+     * Creates a new profile overview.
+     */
+    public ProfileOverview() {
+    }
+
+    /**
+     * Creates a new profile overview.
+     *
+     * @param username The username of the user.
+     * @param roles The roles of the user.
+     * @param orders The totals of the orders of the user.
+     */
+    public ProfileOverview(String username, List<String> roles, List<OrderTotal> orders) {
+        this.username = username;
+        this.roles = roles;
+        this.orders = orders;
+    }
+
+    /**
+     * Gets the username of the user.
+     *
+     * @return String
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Sets the username of the user.
+     *
+     * @param username The username of the user.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Gets the roles of the user.
+     *
+     * @return List of String
+     */
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    /**
+     * Sets the roles of the user.
+     *
+     * @param roles The roles of the user.
+     */
+    public void setRoles(List<String> roles) {
+        this.roles = roles;
+    }
+
+    /**
+     * Gets the totals of the orders of the user.
+     *
+     * @return List of OrderTotal
+     */
+    public List<OrderTotal> getOrders() {
+        return orders;
+    }
+
+    /**
+     * Sets the totals of the orders of the user.
+     *
+     * @param orders The totals of the orders of the user.
+     */
+    public void setOrders(List<OrderTotal> orders) {
+        this.orders = orders;
+    }
+}
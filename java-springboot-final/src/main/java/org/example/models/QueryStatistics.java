@@ -0,0 +1,153 @@
+package org.example.models;
+
+/**
+ * Model for the statistics of every SQL statement sharing one fingerprint.
+ */
+public class QueryStatistics {
+    /**
+     * The statement with its literals and bind parameters replaced by placeholders.
+     */
+    private String fingerprint;
+
+    /**
+     * The number of times a statement with the fingerprint was executed.
+     */
+    private long count;
+
+    /**
+     * The total time spent executing the statements and reading their results, in milliseconds.
+     */
+    private double totalMillis;
+
+    /**
+     * The longest time a single execution took, in milliseconds.
+     */
+    private double maxMillis;
+
+    /**
+     * The total number of rows the statements affected; queries count none.
+     */
+    private long rows;
+
+    /**
+     * Creates new query statistics.
+     */
+    public QueryStatistics() {
+    }
+
+    /**
+     * Creates new query statistics.
+     *
+     * @param fingerprint The statement with its literals and bind parameters replaced by placeholders.
+     * @param count The number of times a statement with the fingerprint was executed.
+     * @param totalMillis The total time spent executing the statements and reading their results, in milliseconds.
+     * @param maxMillis The longest time a single execution took, in milliseconds.
+     * @param rows The total number of rows the statements affected; queries count none.
+     */
+    public QueryStatistics(String fingerprint, long count, double totalMillis, double maxMillis, long rows) {
+        this.fingerprint = fingerprint;
+        this.count = count;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+        this.rows = rows;
+    }
+
+    /**
+     * Gets the statement with its literals and bind parameters replaced by placeholders.
+     *
+     * @return String
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Sets the statement with its literals and bind parameters replaced by placeholders.
+     *
+     * @param fingerprint The fingerprint.
+     */
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Gets the number of times a statement with the fingerprint was executed.
+     *
+     * @return long
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Sets the number of times a statement with the fingerprint was executed.
+     *
+     * @param count The number of executions.
+     */
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    /**
+     * Gets the total time spent executing the statements and reading their results, in milliseconds.
+     *
+     * @return double
+     */
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Sets the total time spent executing the statements and reading their results, in milliseconds.
+     *
+     * @param totalMillis The total time.
+     */
+    public void setTotalMillis(double totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    /**
+     * Gets the mean time of one execution, in milliseconds.
+     *
+     * @return double
+     */
+    public double getMeanMillis() {
+        return count > 0 ? totalMillis / count : 0;
+    }
+
+    /**
+     * Gets the longest time a single execution took, in milliseconds.
+     *
+     * @return double
+     */
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * Sets the longest time a single execution took, in milliseconds.
+     *
+     * @param maxMillis The longest time.
+     */
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Gets the total number of rows the statements affected; queries count none.
+     *
+     * @return long
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Sets the total number of rows the statements affected; queries count none.
+     *
+     * @param rows The number of rows.
+     */
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+}
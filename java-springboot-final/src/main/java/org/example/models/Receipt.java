@@ -0,0 +1,98 @@
+package org.example.models;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Model for the result of a checkout.
+ */
+public class Receipt {
+    /**
+     * The order created by the checkout.
+     */
+    private Order order;
+
+    /**
+     * The order items created by the checkout.
+     */
+    private List<OrderItem> items = new ArrayList<>();
+
+    /**
+     * The total price of the order.
+     */
+    private BigDecimal total;
+
+    /**
+     * Creates a new receipt.
+     */
+    public Receipt() {
+    }
+
+    /**
+     * Creates a new receipt.
+     *
+     * @param order The order created by the checkout.
+     * @param items The order items created by the checkout.
+     * @param total The total price of the order.
+     */
+    public Receipt(Order order, List<OrderItem> items, BigDecimal total) {
+        this.order = order;
+        this.items = items;
+        this.total = total;
+    }
+
+    /**
+     * Gets the order created by the checkout.
+     *
+     * @return Order
+     */
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * Sets the order created by the checkout.
+     *
+     * @param order The order created by the checkout.
+     */
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
+    /**
+     * Gets the order items created by the checkout.
+     *
+     * @return List of OrderItem
+     */
+    public List<OrderItem> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets the order items created by the checkout.
+     *
+     * @param items The order items created by the checkout.
+     */
+    public void setItems(List<OrderItem> items) {
+        this.items = items;
+    }
+
+    /**
+     * Gets the total price of the order.
+     *
+     * @return BigDecimal
+     */
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    /**
+     * Sets the total price of the order.
+     *
+     * @param total The total price of the order.
+     */
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.models;
+
+import java.math.BigDecimal;
+
+/**
+ * Model for the number of orders a user has placed and what they have spent on them.
+ */
+public class UserOrderSummary {
+    /**
+     * The username of the user.
+     */
+    private String username;
+
+    /**
+     * The number of orders of the user.
+     */
+    private int orderCount;
+
+    /**
+     * The sum of the totals of the orders of the user.
+     */
+    private BigDecimal totalSpend;
+
+    /**
+     * Creates a new user order summary.
+     */
+    public UserOrderSummary() {
+    }
+
+    /**
+     * Creates a new user order summary.
+     *
+     * @param username The username of the user.
+     * @param orderCount The number of orders of the user.
+     * @param totalSpend The sum of the totals of the orders of the user.
+     */
+    public UserOrderSummary(String username, int orderCount, BigDecimal totalSpend) {
+        this.username = username;
+        this.orderCount = orderCount;
+        this.totalSpend = totalSpend;
+    }
+
+    /**
+     * Gets the username of the user.
+     *
+     * @return String
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Sets the username of the user.
+     *
+     * @param username The username of the user.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Gets the number of orders of the user.
+     *
+     * @return int
+     */
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Sets the number of orders of the user.
+     *
+     * @param orderCount The number of orders of the user.
+     */
+    public void setOrderCount(int orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    /**
+     * Gets the sum of the totals of the orders of the user.
+     *
+     * @return BigDecimal
+     */
+    public BigDecimal getTotalSpend() {
+        return totalSpend;
+    }
+
+    /**
+     * Sets the sum of the totals of the orders of the user.
+     *
+     * @param totalSpend The sum of the totals of the orders of the user.
+     */
+    public void setTotalSpend(BigDecimal totalSpend) {
+        this.totalSpend = totalSpend;
+    }
+}
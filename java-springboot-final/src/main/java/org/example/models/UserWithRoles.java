@@ -0,0 +1,63 @@
+package org.example.models;
+
+import java.util.List;
+
+/**
+ * Immutable model for a user together with their roles.
+ */
+public final class UserWithRoles {
+    /**
+     * The username of the user.
+     */
+    private final String username;
+
+    /**
+     * The password of the user.
+     */
+    private final String password;
+
+    /**
+     * The roles of the user.
+     */
+    private final List<String> roles;
+
+    /**
+     * Creates a new user with roles.
+     *
+     * @param username The username of the user.
+     * @param password The password of the user.
+     * @param roles The roles of the user.
+     */
+    public UserWithRoles(String username, String password, List<String> roles) {
+        this.username = username;
+        this.password = password;
+        this.roles = List.copyOf(roles);
+    }
+
+    /**
+     * Gets the username of the user.
+     *
+     * @return The username of the user.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Gets the password of the user.
+     *
+     * @return The password of the user.
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Gets the roles of the user.
+     *
+     * @return An unmodifiable list of the roles of the user.
+     */
+    public List<String> getRoles() {
+        return roles;
+    }
+}
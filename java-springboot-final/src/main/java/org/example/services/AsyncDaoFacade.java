@@ -0,0 +1,192 @@
+package org.example.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.example.daos.OrderDao;
+import org.example.daos.OrderItemDao;
+import org.example.daos.ProductDao;
+import org.example.daos.UserDao;
+import org.example.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Facade that runs DAO calls on a bounded pool of threads and returns their results as
+ * {@link CompletableFuture}s, so that a request can start independent queries at once and
+ * wait for all of them instead of running them one after the other.
+ * <p>
+ * The pool has a few threads, well below the connection pool size, since request threads need
+ * connections too: if the pool could hold every connection, requests would queue in Hikari behind
+ * the calls they fanned out. When its queue is full, the calling thread runs the call itself,
+ * which slows callers down rather than failing them. Once the pool has shut down, calls fail
+ * straight away instead of leaving their futures to wait forever. Calls do not join a transaction
+ * the caller has open, but a caller pinned to the primary database stays pinned in its calls.
+ */
+@Component
+public class AsyncDaoFacade {
+    /**
+     * The product data access object.
+     */
+    private final ProductDao productDao;
+
+    /**
+     * The order data access object.
+     */
+    private final OrderDao orderDao;
+
+    /**
+     * The order item data access object.
+     */
+    private final OrderItemDao orderItemDao;
+
+    /**
+     * The user data access object.
+     */
+    private final UserDao userDao;
+
+    /**
+     * The threads the DAO calls run on.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Creates a new asynchronous DAO facade.
+     *
+     * @param productDao The product data access object.
+     * @param orderDao The order data access object.
+     * @param orderItemDao The order item data access object.
+     * @param userDao The user data access object.
+     * @param threads The number of threads, which should stay well below the connection pool size.
+     * @param queueCapacity The most calls waiting for a thread before callers run their own calls.
+     * @param meterRegistry The registry the pool metrics are registered with.
+     */
+    public AsyncDaoFacade(ProductDao productDao, OrderDao orderDao, OrderItemDao orderItemDao, UserDao userDao,
+                          @Value("${webstore.async-dao.threads:4}") int threads,
+                          @Value("${webstore.async-dao.queue-capacity:1000}") int queueCapacity,
+                          MeterRegistry meterRegistry) {
+        this.productDao = productDao;
+        this.orderDao = orderDao;
+        this.orderItemDao = orderItemDao;
+        this.userDao = userDao;
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("async-dao-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "async-dao");
+    }
+
+    /**
+     * Runs a call to the product DAO on the pool.
+     *
+     * @param call The call.
+     * @param <T> The type of the result.
+     * @return A future completed with the result of the call.
+     */
+    public <T> CompletableFuture<T> products(Function<ProductDao, T> call) {
+        return supply(productDao, call);
+    }
+
+    /**
+     * Runs a call to the order DAO on the pool.
+     *
+     * @param call The call.
+     * @param <T> The type of the result.
+     * @return A future completed with the result of the call.
+     */
+    public <T> CompletableFuture<T> orders(Function<OrderDao, T> call) {
+        return supply(orderDao, call);
+    }
+
+    /**
+     * Runs a call to the order item DAO on the pool.
+     *
+     * @param call The call.
+     * @param <T> The type of the result.
+     * @return A future completed with the result of the call.
+     */
+    public <T> CompletableFuture<T> orderItems(Function<OrderItemDao, T> call) {
+        return supply(orderItemDao, call);
+    }
+
+    /**
+     * Runs a call to the user DAO on the pool.
+     *
+     * @param call The call.
+     * @param <T> The type of the result.
+     * @return A future completed with the result of the call.
+     */
+    public <T> CompletableFuture<T> users(Function<UserDao, T> call) {
+        return supply(userDao, call);
+    }
+
+    /**
+     * Stops the pool once the application shuts down, letting running calls finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs a call to a DAO on the pool, carrying over whether the caller is pinned to the primary.
+     * The pin is always cleared afterwards, so a write made by one call never pins the next call
+     * that happens to run on the same thread. If the pool rejects the call because its queue is full,
+     * the caller runs it instead; if the pool has shut down, the future fails with the rejection.
+     *
+     * @param dao The DAO.
+     * @param call The call.
+     * @param <D> The type of the DAO.
+     * @param <T> The type of the result.
+     * @return A future completed with the result of the call.
+     */
+    private <D, T> CompletableFuture<T> supply(D dao, Function<D, T> call) {
+        boolean pinned = ReplicaRoutingDataSource.isPinned();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (pinned) {
+                    ReplicaRoutingDataSource.pinToPrimary();
+                }
+                try {
+                    complete(future, dao, call);
+                } finally {
+                    ReplicaRoutingDataSource.clearPin();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (executor.isShutdown()) {
+                future.completeExceptionally(e);
+            } else {
+                // The queue is full, so the caller runs the call itself and keeps its own pin
+                complete(future, dao, call);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Makes a call to a DAO and completes a future with its result or with what it threw.
+     *
+     * @param future The future.
+     * @param dao The DAO.
+     * @param call The call.
+     * @param <D> The type of the DAO.
+     * @param <T> The type of the result.
+     */
+    private static <D, T> void complete(CompletableFuture<T> future, D dao, Function<D, T> call) {
+        try {
+            future.complete(call.apply(dao));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.daos.OrderDao;
+import org.example.daos.OrderItemDao;
+import org.example.daos.ProductDao;
+import org.example.models.Cart;
+import org.example.models.CartItem;
+import org.example.models.Order;
+import org.example.models.OrderItem;
+import org.example.models.Receipt;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service that turns a cart into an order and its order items.
+ */
+@Component
+public class CheckoutService {
+    /**
+     * The most items a cart may hold, the same as the most order items created in one batch.
+     */
+    private static final int MAX_CART_ITEMS = 1000;
+
+    /**
+     * The product data access object.
+     */
+    private final ProductDao productDao;
+
+    /**
+     * The order data access object.
+     */
+    private final OrderDao orderDao;
+
+    /**
+     * The order item data access object.
+     */
+    private final OrderItemDao orderItemDao;
+
+    /**
+     * The transaction template wrapping each checkout.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The timer recording the latency of each checkout, commit included.
+     */
+    private final Timer checkoutTimer;
+
+    /**
+     * Creates a new checkout service.
+     *
+     * @param productDao The product data access object.
+     * @param orderDao The order data access object.
+     * @param orderItemDao The order item data access object.
+     * @param transactionTemplate The transaction template wrapping each checkout.
+     * @param meterRegistry The registry the checkout timer is registered with.
+     */
+    public CheckoutService(ProductDao productDao, OrderDao orderDao, OrderItemDao orderItemDao,
+                           TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.productDao = productDao;
+        this.orderDao = orderDao;
+        this.orderItemDao = orderItemDao;
+        this.transactionTemplate = transactionTemplate;
+        this.checkoutTimer = Timer.builder("checkout")
+                .description("Time taken to create an order and its items from a cart")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates an order and all of its order items from a cart in one transaction.
+     *
+     * @param username The username of the order.
+     * @param cart The cart to check out.
+     * @return The receipt with the created order, its items and its total.
+     * @throws IllegalArgumentException If the cart is empty or too large, or has a non-positive quantity or an unknown product.
+     */
+    public Receipt checkout(String username, Cart cart) {
+        return checkoutTimer.record(() -> transactionTemplate.execute(status -> placeOrder(username, cart)));
+    }
+
+    /**
+     * Creates the order and its order items. Must run inside a transaction.
+     *
+     * @param username The username of the order.
+     * @param cart The cart to check out.
+     * @return The receipt with the created order, its items and its total.
+     */
+    private Receipt placeOrder(String username, Cart cart) {
+        List<CartItem> cartItems = cart.getItems();
+        if (cartItems == null || cartItems.isEmpty()) {
+            throw new IllegalArgumentException("Cart is empty.");
+        }
+        if (cartItems.size() > MAX_CART_ITEMS) {
+            throw new IllegalArgumentException("Cart must not hold more than " + MAX_CART_ITEMS + " items.");
+        }
+
+        // Look up all prices at once and total the cart while validating it
+        Set<Integer> productIds = new HashSet<>();
+        for (CartItem cartItem : cartItems) {
+            productIds.add(cartItem.getProductId());
+        }
+        Map<Integer, BigDecimal> prices = productDao.getPricesByIds(productIds);
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartItem cartItem : cartItems) {
+            BigDecimal price = prices.get(cartItem.getProductId());
+            if (price == null) {
+                throw new IllegalArgumentException("Product " + cartItem.getProductId() + " not found.");
+            }
+            if (cartItem.getQuantity() < 1) {
+                throw new IllegalArgumentException("Quantity must be at least 1.");
+            }
+            total = total.add(price.multiply(BigDecimal.valueOf(cartItem.getQuantity())));
+        }
+
+        // Create the order, then all of its items in one batch
+        Order order = orderDao.createOrder(new Order(0, username));
+        List<OrderItem> orderItems = new ArrayList<>(cartItems.size());
+        for (CartItem cartItem : cartItems) {
+            orderItems.add(new OrderItem(0, order.getId(), cartItem.getProductId(), cartItem.getQuantity()));
+        }
+        return new Receipt(order, orderItemDao.createOrderItems(orderItems), total);
+    }
+}
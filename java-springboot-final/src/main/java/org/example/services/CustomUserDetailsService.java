@@ -2,7 +2,9 @@ package org.example.services;
 
 import eu.fraho.spring.securityJwt.base.dto.JwtUser;
 import org.example.daos.UserDao;
-import org.example.models.User;
+import org.example.models.UserWithRoles;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,18 +20,30 @@ import java.util.List;
  */
 @Component
 public class CustomUserDetailsService implements UserDetailsService {
+    /**
+     * The name of the cache holding loaded principals, keyed by username.
+     */
+    public static final String USER_DETAILS_CACHE = "userDetails";
+
     /**
      * The user data access object.
      */
     private final UserDao userDao;
 
+    /**
+     * The cache holding loaded principals.
+     */
+    private final Cache userDetailsCache;
+
     /**
      * Creates a new custom user details service.
      *
      * @param userDao The user data access object.
+     * @param cacheManager The cache manager providing the user details cache.
      */
-    public CustomUserDetailsService(UserDao userDao) {
+    public CustomUserDetailsService(UserDao userDao, CacheManager cacheManager) {
         this.userDao = userDao;
+        this.userDetailsCache = cacheManager.getCache(USER_DETAILS_CACHE);
     }
 
     /**
@@ -41,24 +55,22 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // Get user
-        User user = userDao.getUserByUsername(username);
-        if (user == null) {
-            throw new UsernameNotFoundException("User not found.");
+        CachedPrincipal principal;
+        try {
+            principal = userDetailsCache.get(username, () -> loadPrincipal(username));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof UsernameNotFoundException notFound) {
+                throw notFound;
+            }
+            throw e;
         }
 
-        // Get roles -> authorities
-        List<String> roles = userDao.getRoles(username);
-        List<GrantedAuthority> authorities = new ArrayList<>();
-        for (String role : roles) {
-            authorities.add(new SimpleGrantedAuthority(role));
-        }
-
-        // Create JwtUser
+        // Create JwtUser. A new instance is built every time because the authentication
+        // manager erases the credentials of the principal it is handed.
         JwtUser jwtUser = new JwtUser();
-        jwtUser.setUsername(user.getUsername());
-        jwtUser.setPassword(user.getPassword());
-        jwtUser.setAuthorities(authorities);
+        jwtUser.setUsername(principal.username());
+        jwtUser.setPassword(principal.password());
+        jwtUser.setAuthorities(principal.authorities());
 
         // Not sure if this is necessary
         jwtUser.setAccountNonExpired(true);
@@ -68,4 +80,36 @@ public class CustomUserDetailsService implements UserDetailsService {
         jwtUser.setEnabled(true);
         return jwtUser;
     }
+
+    /**
+     * Loads a user and their roles from the database in a single query.
+     *
+     * @param username The username of the user.
+     * @return The principal of the user.
+     * @throws UsernameNotFoundException If the user is not found.
+     */
+    private CachedPrincipal loadPrincipal(String username) {
+        // Get user with roles
+        UserWithRoles user = userDao.getUserWithRoles(username);
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found.");
+        }
+
+        // Roles -> authorities
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (String role : user.getRoles()) {
+            authorities.add(new SimpleGrantedAuthority(role));
+        }
+        return new CachedPrincipal(user.getUsername(), user.getPassword(), List.copyOf(authorities));
+    }
+
+    /**
+     * Immutable snapshot of a user and their authorities, as held in the cache.
+     *
+     * @param username The username of the user.
+     * @param password The hashed password of the user.
+     * @param authorities The authorities granted to the user.
+     */
+    private record CachedPrincipal(String username, String password, List<GrantedAuthority> authorities) {
+    }
 }
@@ -0,0 +1,454 @@
+package org.example.services;
+
+import org.example.daos.ProductDao;
+import org.example.events.ProductChangedEvent;
+import org.example.models.Product;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product names.
+ * The index is built from {@link ProductDao} once the application is ready and is kept up to date
+ * by the {@link ProductChangedEvent}s the DAO publishes for every product it writes.
+ * <p>
+ * A query matches a product when every word of the query matches a word of its name, either exactly,
+ * as a prefix, or with one typo (a missing, extra, wrong or swapped letter). Typos are found with
+ * precomputed single-letter deletions, so no lookup walks the whole dictionary.
+ * <p>
+ * A rebuild streams the products into a new index while searches and writes keep using the current
+ * one, and only takes the write lock to swap the new index in, replaying the writes it missed.
+ */
+@Component
+public class ProductSearchIndex {
+    /**
+     * The score of a query word that matches a name word exactly.
+     */
+    private static final int EXACT_SCORE = 3;
+
+    /**
+     * The score of a query word that is a prefix of a name word.
+     */
+    private static final int PREFIX_SCORE = 2;
+
+    /**
+     * The score of a query word that matches a name word with one typo.
+     */
+    private static final int TYPO_SCORE = 1;
+
+    /**
+     * The shortest query word matched as a prefix.
+     */
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    /**
+     * The shortest query word matched with a typo.
+     */
+    private static final int MIN_TYPO_LENGTH = 4;
+
+    /**
+     * The product data access object the index is built from.
+     */
+    private final ProductDao productDao;
+
+    /**
+     * The lock guarding the index; searches share it and writes take it exclusively.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * The lock letting only one rebuild run at a time, without holding up searches or writes.
+     */
+    private final Lock rebuildLock = new ReentrantLock();
+
+    /**
+     * The current index. Guarded by {@link #lock}.
+     */
+    private Index index = new Index();
+
+    /**
+     * The writes applied while a rebuild streams the products, to be replayed on the new index,
+     * or null when no rebuild is running. Guarded by {@link #lock}.
+     */
+    private List<ProductChangedEvent> missedWrites;
+
+    /**
+     * Creates a new product search index.
+     *
+     * @param productDao The product data access object the index is built from.
+     */
+    public ProductSearchIndex(ProductDao productDao) {
+        this.productDao = productDao;
+    }
+
+    /**
+     * Builds the index from every product in the database, discarding what it held before.
+     * The products are streamed into a new index without holding the lock, so searches and writes
+     * go on meanwhile; the writes are replayed on the new index when it is swapped in. If streaming
+     * fails, the current index is kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                missedWrites = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Index rebuilt = null;
+            try {
+                Index streamed = new Index();
+                productDao.streamProducts(streamed::add);
+                rebuilt = streamed;
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (rebuilt != null) {
+                        for (ProductChangedEvent event : missedWrites) {
+                            rebuilt.apply(event);
+                        }
+                        index = rebuilt;
+                    }
+                    missedWrites = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Applies a product write to the index.
+     *
+     * @param event The event describing the write.
+     */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.apply(event);
+            if (missedWrites != null) {
+                missedWrites.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the product names.
+     * The longest query word, usually the most selective, is looked up in the index, and the
+     * products it matches are then narrowed down by checking their names against the other words.
+     * Only the best {@code limit} matches are kept while ranking, so a broad query is not fully sorted.
+     *
+     * @param query The words to search for.
+     * @param limit The maximum number of products to return.
+     * @return The matching products, best match first.
+     */
+    public List<Product> search(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        words.sort(Comparator.comparingInt(String::length).reversed());
+
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            Map<Integer, Integer> scores = current.match(words.get(0));
+            for (String word : words.subList(1, words.size())) {
+                Iterator<Map.Entry<Integer, Integer>> iterator = scores.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<Integer, Integer> entry = iterator.next();
+                    int score = score(word, current.products.get(entry.getKey()));
+                    if (score == 0) {
+                        iterator.remove();
+                    } else {
+                        entry.setValue(entry.getValue() + score);
+                    }
+                }
+            }
+
+            Comparator<Map.Entry<Integer, Integer>> ranking = Comparator.<Map.Entry<Integer, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                    .thenComparingInt(entry -> nameLength(current.products.get(entry.getKey())))
+                    .thenComparingInt(Map.Entry::getKey);
+
+            // The worst of the best matches so far sits at the head, ready to be dropped
+            PriorityQueue<Map.Entry<Integer, Integer>> best = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, ranking.reversed());
+            for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                best.add(entry);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            Product[] results = new Product[best.size()];
+            for (int i = results.length - 1; i >= 0; i--) {
+                results[i] = current.products.get(best.poll().getKey());
+            }
+            return List.of(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores how well a query word matches the best-matching word of a product name.
+     * This gives the same scores as looking the word up in the index.
+     *
+     * @param word The query word.
+     * @param product The product.
+     * @return The score, or 0 if no word of the name matches.
+     */
+    private static int score(String word, Product product) {
+        int best = 0;
+        for (String nameWord : tokenize(product.getName())) {
+            if (nameWord.equals(word)) {
+                return EXACT_SCORE;
+            } else if (word.length() >= MIN_PREFIX_LENGTH && nameWord.startsWith(word)) {
+                best = Math.max(best, PREFIX_SCORE);
+            } else if (word.length() >= MIN_TYPO_LENGTH && isOneTypoApart(word, nameWord)) {
+                best = Math.max(best, TYPO_SCORE);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Raises the score of each product to the given score if it is lower.
+     *
+     * @param scores The scores, keyed by product id.
+     * @param ids The ids of the products to score, may be null.
+     * @param score The score.
+     */
+    private static void score(Map<Integer, Integer> scores, Set<Integer> ids, int score) {
+        if (ids == null) {
+            return;
+        }
+        for (Integer id : ids) {
+            scores.merge(id, score, Math::max);
+        }
+    }
+
+    /**
+     * Gets a word and every word made by deleting one of its letters.
+     *
+     * @param word The word.
+     * @return The word and its deletions.
+     */
+    private static Set<String> variants(String word) {
+        Set<String> variants = new HashSet<>(word.length() + 1);
+        variants.add(word);
+        for (int i = 0; i < word.length(); i++) {
+            variants.add(word.substring(0, i) + word.substring(i + 1));
+        }
+        return variants;
+    }
+
+    /**
+     * Checks whether two different words are one missing, extra, wrong or swapped letter apart.
+     *
+     * @param a The first word.
+     * @param b The second word.
+     * @return Whether the words are one typo apart.
+     */
+    private static boolean isOneTypoApart(String a, String b) {
+        if (a.length() < b.length()) {
+            return isOneTypoApart(b, a);
+        }
+        if (a.length() - b.length() > 1) {
+            return false;
+        }
+
+        int start = 0;
+        while (start < b.length() && a.charAt(start) == b.charAt(start)) {
+            start++;
+        }
+        if (a.length() != b.length()) {
+            return a.substring(start + 1).equals(b.substring(start));
+        }
+        if (a.substring(start + 1).equals(b.substring(start + 1))) {
+            return true;
+        }
+        return start + 1 < a.length()
+                && a.charAt(start) == b.charAt(start + 1)
+                && a.charAt(start + 1) == b.charAt(start)
+                && a.substring(start + 2).equals(b.substring(start + 2));
+    }
+
+    /**
+     * Splits text into lower-case words of letters and digits.
+     *
+     * @param text The text, may be null.
+     * @return The words, without duplicates.
+     */
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        Set<String> words = new HashSet<>();
+        for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    /**
+     * Gets the length of the name of a product, so shorter and therefore closer names rank first.
+     *
+     * @param product The product.
+     * @return The length of its name.
+     */
+    private static int nameLength(Product product) {
+        return product.getName() != null ? product.getName().length() : 0;
+    }
+
+    /**
+     * The data of an index, which searches read and writes change in place once it is current.
+     */
+    private static class Index {
+        /**
+         * The indexed products, keyed by id.
+         */
+        private final Map<Integer, Product> products = new HashMap<>();
+
+        /**
+         * The ids of the products whose names contain each word, sorted by word for prefix lookups.
+         */
+        private final TreeMap<String, Set<Integer>> postings = new TreeMap<>();
+
+        /**
+         * The words that each single-letter deletion of a word, or the word itself, belongs to.
+         */
+        private final Map<String, Set<String>> deletions = new HashMap<>();
+
+        /**
+         * Applies a product write. Must be called with the write lock held if the index is current.
+         *
+         * @param event The event describing the write.
+         */
+        void apply(ProductChangedEvent event) {
+            remove(event.getId());
+            if (event.getProduct() != null) {
+                add(event.getProduct());
+            }
+        }
+
+        /**
+         * Finds the products with a name word matching a query word, each with its best score.
+         *
+         * @param word The query word.
+         * @return The score of each matching product, keyed by product id.
+         */
+        Map<Integer, Integer> match(String word) {
+            Map<Integer, Integer> scores = new HashMap<>();
+            if (word.length() >= MIN_TYPO_LENGTH) {
+                for (String candidate : typoCandidates(word)) {
+                    if (isOneTypoApart(word, candidate)) {
+                        score(scores, postings.get(candidate), TYPO_SCORE);
+                    }
+                }
+            }
+            if (word.length() >= MIN_PREFIX_LENGTH) {
+                for (Set<Integer> ids : postings.subMap(word, false, word + Character.MAX_VALUE, false).values()) {
+                    score(scores, ids, PREFIX_SCORE);
+                }
+            }
+            score(scores, postings.get(word), EXACT_SCORE);
+            return scores;
+        }
+
+        /**
+         * Finds the indexed words that share the word itself or one of its single-letter deletions.
+         * Every word within one typo of the query word is among them.
+         *
+         * @param word The query word.
+         * @return The candidate words.
+         */
+        private Set<String> typoCandidates(String word) {
+            Set<String> candidates = new HashSet<>();
+            for (String variant : variants(word)) {
+                Set<String> words = deletions.get(variant);
+                if (words != null) {
+                    candidates.addAll(words);
+                }
+            }
+            candidates.remove(word);
+            return candidates;
+        }
+
+        /**
+         * Adds a product to the index. Must be called with the write lock held if the index is current.
+         *
+         * @param product The product.
+         */
+        void add(Product product) {
+            products.put(product.getId(), product);
+            for (String word : tokenize(product.getName())) {
+                Set<Integer> ids = postings.get(word);
+                if (ids == null) {
+                    ids = new HashSet<>();
+                    postings.put(word, ids);
+                    for (String variant : variants(word)) {
+                        deletions.computeIfAbsent(variant, key -> new HashSet<>()).add(word);
+                    }
+                }
+                ids.add(product.getId());
+            }
+        }
+
+        /**
+         * Removes a product from the index, along with any word no other product uses.
+         * Must be called with the write lock held if the index is current.
+         *
+         * @param id The id of the product.
+         */
+        private void remove(int id) {
+            Product product = products.remove(id);
+            if (product == null) {
+                return;
+            }
+            for (String word : tokenize(product.getName())) {
+                Set<Integer> ids = postings.get(word);
+                if (ids == null) {
+                    continue;
+                }
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(word);
+                    for (String variant : variants(word)) {
+                        Set<String> words = deletions.get(variant);
+                        if (words != null) {
+                            words.remove(word);
+                            if (words.isEmpty()) {
+                                deletions.remove(variant);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
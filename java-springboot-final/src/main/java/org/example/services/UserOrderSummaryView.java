@@ -0,0 +1,283 @@
+package org.example.services;
+
+import jakarta.annotation.PreDestroy;
+import org.example.daos.OrderDao;
+import org.example.datasource.ReplicaRoutingDataSource;
+import org.example.events.OrdersChangedEvent;
+import org.example.events.ProductChangedEvent;
+import org.example.events.UserDeletedEvent;
+import org.example.models.UserOrderSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Materialized summary of the orders of each user: how many orders they have and what they total.
+ * The view is built from {@link OrderDao} once the application is ready and is kept up to date by
+ * the events the DAOs publish for every order, order item, product and user they write.
+ * <p>
+ * The view holds one summary per user and nothing per order. A write marks the users it touched,
+ * and their summaries are summed again by the database on a maintenance thread of the view's own,
+ * so the request that wrote never waits for it. A product update sums its buyers again. Writes that
+ * cannot name everyone they touched, such as an order moved to another user or a deleted order or
+ * order item, whose previous owner is gone by the time they are announced, queue a rebuild on the
+ * same thread instead; rebuilds queued while one is pending are folded into it. Rebuilds asked for
+ * directly run on that thread too, so all maintenance is applied one task at a time. Summaries are
+ * replaced rather than modified, so reads are lock-free lookups that never wait for maintenance.
+ */
+@Component
+public class UserOrderSummaryView {
+    /**
+     * The logger for failed maintenance.
+     */
+    private static final Logger log = LoggerFactory.getLogger(UserOrderSummaryView.class);
+
+    /**
+     * The most users summed again by a single query.
+     */
+    private static final int REFRESH_BATCH_SIZE = 1000;
+
+    /**
+     * How long {@link #rebuild()} and {@link #flush()} wait for the maintenance thread, in seconds.
+     */
+    private static final long AWAIT_TIMEOUT_SECONDS = 30;
+
+    /**
+     * The order data access object the view is built from.
+     */
+    private final OrderDao orderDao;
+
+    /**
+     * The thread the view is maintained on, so maintenance is applied in the order it was queued.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("order-summaries-"));
+
+    /**
+     * Whether a rebuild is queued on the maintenance thread and has not started yet.
+     */
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    /**
+     * The summary of each user with at least one order, keyed by username.
+     */
+    private volatile Map<String, UserOrderSummary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new user order summary view.
+     *
+     * @param orderDao The order data access object the view is built from.
+     */
+    public UserOrderSummaryView(OrderDao orderDao) {
+        this.orderDao = orderDao;
+    }
+
+    /**
+     * Gets the summary of a user.
+     *
+     * @param username The username of the user.
+     * @return The summary, with no orders and nothing spent if the user has no orders.
+     */
+    public UserOrderSummary getSummary(String username) {
+        UserOrderSummary summary = summaries.get(username);
+        return summary != null ? summary : new UserOrderSummary(username, 0, BigDecimal.ZERO.setScale(2));
+    }
+
+    /**
+     * Gets the summary of every user with at least one order.
+     *
+     * @return The summaries, ordered by username.
+     */
+    public List<UserOrderSummary> getSummaries() {
+        List<UserOrderSummary> all = new ArrayList<>(summaries.values());
+        all.sort(Comparator.comparing(UserOrderSummary::getUsername));
+        return all;
+    }
+
+    /**
+     * Builds the view from every order in the database, discarding what it held before. The rebuild
+     * runs on the maintenance thread after the maintenance already queued, and the caller waits for it.
+     *
+     * @throws IllegalStateException If the rebuild fails, does not finish in time or the wait is interrupted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        await(executor.submit(() -> runMaintenance(this::load)));
+    }
+
+    /**
+     * Waits until the maintenance queued so far has been applied. Only tests need to, so that
+     * what they read next reflects what they wrote.
+     *
+     * @throws IllegalStateException If the maintenance does not finish in time or the wait is interrupted.
+     */
+    void flush() {
+        await(executor.submit(() -> { }));
+    }
+
+    /**
+     * Sums again the users whose orders were written, once their transaction has committed, or
+     * rebuilds the view if the event cannot name all of them.
+     *
+     * @param event The event naming the orders and users.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrdersChanged(OrdersChangedEvent event) {
+        if (event.isPartial()) {
+            queueRebuild();
+            return;
+        }
+        List<Integer> orderIds = List.copyOf(event.getOrderIds());
+        Set<String> usernames = new LinkedHashSet<>(event.getUsernames());
+        maintain(() -> {
+            usernames.addAll(orderDao.getUsernamesByOrderIds(orderIds));
+            refresh(usernames);
+        });
+    }
+
+    /**
+     * Sums again the buyers of a product that was written, or rebuilds the view after a product was
+     * deleted, since which orders held it is no longer known.
+     *
+     * @param event The event describing the product write.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getProduct() == null) {
+            queueRebuild();
+        } else {
+            int productId = event.getId();
+            maintain(() -> refresh(orderDao.getUsernamesByProductId(productId)));
+        }
+    }
+
+    /**
+     * Drops the summary of a deleted user, whose orders were deleted with them.
+     *
+     * @param event The event naming the user.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        String username = event.getUsername();
+        maintain(() -> summaries.remove(username));
+    }
+
+    /**
+     * Stops the maintenance thread once the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a rebuild on the view's thread, unless one is already queued and has not started,
+     * in which case that one will see this write too.
+     */
+    private void queueRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            maintain(() -> {
+                rebuildQueued.set(false);
+                load();
+            });
+        }
+    }
+
+    /**
+     * Queues maintenance on the view's thread. It reads from the primary database, since a replica
+     * may not have the write that queued it yet, and a failure is logged rather than thrown, as the
+     * request that queued it has already been answered.
+     *
+     * @param task The maintenance.
+     */
+    private void maintain(Runnable task) {
+        executor.execute(() -> {
+            try {
+                runMaintenance(task);
+            } catch (RuntimeException e) {
+                log.warn("Failed to maintain the order summaries; they stay stale until the next rebuild", e);
+            }
+        });
+    }
+
+    /**
+     * Runs maintenance on the view's thread, reading from the primary database.
+     *
+     * @param task The maintenance.
+     */
+    private void runMaintenance(Runnable task) {
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            task.run();
+        } finally {
+            ReplicaRoutingDataSource.clearPin();
+        }
+    }
+
+    /**
+     * Waits for work submitted to the maintenance thread.
+     *
+     * @param future The future of the work.
+     * @throws IllegalStateException If the work fails, does not finish in time or the wait is interrupted.
+     */
+    private void await(Future<?> future) {
+        try {
+            future.get(AWAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for order summary maintenance", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Order summary maintenance did not finish", e);
+        }
+    }
+
+    /**
+     * Reads the summary of every user with orders and replaces the view with them. Must be called on the maintenance thread.
+     */
+    private void load() {
+        Map<String, UserOrderSummary> rebuilt = new ConcurrentHashMap<>();
+        orderDao.streamUserOrderSummaries(summary -> rebuilt.put(summary.getUsername(), summary));
+        summaries = rebuilt;
+    }
+
+    /**
+     * Reads the current summaries of some users and replaces theirs with them.
+     * Users without orders any more are removed. Must be called on the maintenance thread.
+     *
+     * @param usernames The usernames of the users.
+     */
+    private void refresh(Collection<String> usernames) {
+        List<String> all = new ArrayList<>(usernames);
+        for (int from = 0; from < all.size(); from += REFRESH_BATCH_SIZE) {
+            List<String> batch = all.subList(from, Math.min(from + REFRESH_BATCH_SIZE, all.size()));
+            Set<String> stale = new LinkedHashSet<>(batch);
+            for (UserOrderSummary summary : orderDao.getUserOrderSummaries(batch)) {
+                summaries.put(summary.getUsername(), summary);
+                stale.remove(summary.getUsername());
+            }
+            for (String username : stale) {
+                summaries.remove(username);
+            }
+        }
+    }
+}
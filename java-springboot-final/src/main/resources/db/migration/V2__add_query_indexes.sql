@@ -0,0 +1,11 @@
+-- Orders of a user, paged by id
+create index idx_orders_username_id on orders (username, id);
+
+-- Items of an order, covering every column read by the order item queries
+create index idx_order_items_order_id on order_items (order_id, product_id, quantity);
+
+-- Items referencing a product, used when a product is deleted
+create index idx_order_items_product_id on order_items (product_id);
+
+-- Products looked up or sorted by name
+create index idx_products_name on products (name);
@@ -0,0 +1,2 @@
+-- Products filtered or sorted by price
+create index idx_products_price on products (price);
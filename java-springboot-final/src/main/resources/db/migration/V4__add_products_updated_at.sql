@@ -0,0 +1,4 @@
+-- When each product was last written, kept by the database itself so that writes from any
+-- instance or made directly in SQL change the catalog version
+alter table products add column updated_at datetime(6) not null default current_timestamp(6) on update current_timestamp(6);
+create index idx_products_updated_at on products (updated_at);
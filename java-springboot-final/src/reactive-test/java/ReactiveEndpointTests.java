@@ -0,0 +1,125 @@
+import org.example.SpringBootApplication;
+import org.example.models.Order;
+import org.example.models.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import support.ReactiveTestConfiguration;
+import support.WebStoreTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the reactive read endpoints. Only compiled and run with {@code mvn -Preactive test}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = SpringBootApplication.class)
+@Import(ReactiveTestConfiguration.class)
+@ActiveProfiles("reactive")
+public class ReactiveEndpointTests extends WebStoreTest {
+    @DynamicPropertySource
+    static void registerDatabase(DynamicPropertyRegistry registry) throws Exception {
+        ReactiveTestConfiguration.registerDatabase(registry);
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/products should return the same products as GET /api/products")
+    public void getProductsShouldMatchBlockingEndpoint() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var reactive = this.restTemplate.exchange(getBaseUrl() + "/api/reactive/products", HttpMethod.GET, requestEntity, Product[].class);
+        var blocking = this.restTemplate.exchange(getBaseUrl() + "/api/products", HttpMethod.GET, requestEntity, Product[].class);
+
+        assertEquals(HttpStatus.OK, reactive.getStatusCode());
+        assertEquals(5, reactive.getBody().length);
+        assertEquals("Apple", reactive.getBody()[0].getName());
+        assertEquals(0, new BigDecimal("0.99").compareTo(reactive.getBody()[0].getPrice()));
+        assertArrayEquals(
+            List.of(blocking.getBody()).stream().map(Product::getName).toArray(),
+            List.of(reactive.getBody()).stream().map(Product::getName).toArray()
+        );
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/products?after=2&limit=2 should return the page after product 2")
+    public void getProductsAfterShouldReturnPage() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/reactive/products?after=2&limit=2", HttpMethod.GET, requestEntity, Product[].class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(2, result.getBody().length);
+        assertEquals(3, result.getBody()[0].getId());
+        assertEquals(4, result.getBody()[1].getId());
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/products?limit=0 should return 400")
+    public void getProductsWithInvalidLimitShouldReturnBadRequest() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/reactive/products?limit=0", HttpMethod.GET, requestEntity, String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/products as NDJSON should stream one product per line")
+    public void getProductsAsNdjsonShouldStreamLines() {
+        var headers = new HttpHeaders();
+        headers.putAll(GetAuthEntity("test-admin", "admin").getHeaders());
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/reactive/products", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(result.getHeaders().getContentType()));
+        var lines = result.getBody().trim().split("\n");
+        assertEquals(5, lines.length);
+        assertTrue(lines[0].contains("\"Apple\""));
+        assertTrue(lines[4].contains("\"Elderberry\""));
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/orders should return all orders")
+    public void getOrdersShouldReturnAllOrders() {
+        this.getJdbcTemplate().update("insert into users (username, password) values ('test-user', 'user')");
+        this.getJdbcTemplate().update("insert into orders (username) values ('test-user')");
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/reactive/orders", HttpMethod.GET, requestEntity, Order[].class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(6, result.getBody().length);
+        assertEquals("test-user", result.getBody()[5].getUsername());
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/orders?username=test-user should return only that user's orders")
+    public void getOrdersByUsernameShouldFilter() {
+        this.getJdbcTemplate().update("insert into users (username, password) values ('test-user', 'user')");
+        this.getJdbcTemplate().update("insert into orders (username) values ('test-user')");
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/reactive/orders?username=test-user", HttpMethod.GET, requestEntity, Order[].class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(1, result.getBody().length);
+        assertEquals(6, result.getBody()[0].getId());
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/orders without a token should return 401")
+    public void getOrdersWithoutTokenShouldReturnUnauthorized() {
+        var result = this.restTemplate.getForEntity(getBaseUrl() + "/api/reactive/orders", String.class);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
+    }
+}
@@ -0,0 +1,267 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.SpringBootApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import support.LoadRecorder;
+import support.LoadReport;
+import support.ReactiveTestConfiguration;
+import support.WebStoreTest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test that drives the same reads at high concurrency against the blocking endpoints and then
+ * against their reactive counterparts, and reports the throughput, latency, peak heap and garbage
+ * collection of each. Only compiled with the {@code reactive} profile and excluded from the default
+ * build; run it with {@code mvn -Preactive,load-test test}. The run can be tuned with the system
+ * properties {@code load.concurrency}, {@code load.warmupSeconds} and {@code load.durationSeconds}.
+ * The client runs in the same JVM as the application, so the memory figures are only comparable
+ * between the two stacks of one run, not with the figures of the application on its own.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = SpringBootApplication.class)
+@Import(ReactiveTestConfiguration.class)
+@ActiveProfiles("reactive")
+public class ReactiveLoadTests extends WebStoreTest {
+    /**
+     * The number of concurrent workers.
+     */
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 64);
+
+    /**
+     * The length of the warm-up run of each stack in seconds, whose results are discarded.
+     */
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 5);
+
+    /**
+     * The length of the measured run of each stack in seconds.
+     */
+    private static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 20);
+
+    /**
+     * The number of products in the catalog during the run.
+     */
+    private static final int PRODUCT_COUNT = 1_000;
+
+    /**
+     * The number of orders placed by each load test user before the run.
+     */
+    private static final int ORDER_COUNT = 200;
+
+    /**
+     * The number of load test users.
+     */
+    private static final int USER_COUNT = 10;
+
+    /**
+     * Where the report of the run is written.
+     */
+    private static final Path REPORT = Path.of("target", "load-test", "reactive-report.json");
+
+    @DynamicPropertySource
+    static void registerDatabase(DynamicPropertyRegistry registry) throws Exception {
+        ReactiveTestConfiguration.registerDatabase(registry);
+    }
+
+    @Test
+    @DisplayName("The blocking and reactive read endpoints should serve the same load without errors")
+    public void blockingAndReactiveReadsShouldServeLoad() throws Exception {
+        seed();
+        var headers = GetAuthEntity("test-admin", "admin").getHeaders();
+
+        var results = new LinkedHashMap<String, Map<String, Object>>();
+        for (String stack : List.of("blocking", "reactive")) {
+            String prefix = stack.equals("reactive") ? "/api/reactive" : "/api";
+            run(headers, prefix, WARMUP_SECONDS);
+            results.put(stack, measure(headers, prefix));
+        }
+
+        var mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Files.createDirectories(REPORT.getParent());
+        mapper.writeValue(REPORT.toFile(), results);
+
+        for (var entry : results.entrySet()) {
+            var report = (LoadReport) entry.getValue().get("load");
+            assertEquals(0.0, report.getTotal().getErrorRate(), entry.getKey() + " requests failed");
+        }
+    }
+
+    /**
+     * Fills the database with a catalog and the order histories of the load test users.
+     */
+    private void seed() {
+        var jdbcTemplate = getJdbcTemplate();
+        var users = new ArrayList<Object[]>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            users.add(new Object[]{"load-user-" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into users (username, password) values (?, 'user')", users);
+
+        var products = new ArrayList<Object[]>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products.add(new Object[]{"Product " + i, 1 + i % 100});
+        }
+        jdbcTemplate.batchUpdate("insert into products (name, price) values (?, ?)", products);
+
+        var orders = new ArrayList<Object[]>();
+        for (int i = 0; i < USER_COUNT * ORDER_COUNT; i++) {
+            orders.add(new Object[]{"load-user-" + i % USER_COUNT});
+        }
+        jdbcTemplate.batchUpdate("insert into orders (username) values (?)", orders);
+    }
+
+    /**
+     * Runs one measured run against a stack, recording the peak heap and the garbage collection it caused.
+     *
+     * @param headers The authorization headers of the administrator.
+     * @param prefix The path prefix of the stack's endpoints.
+     * @return The load report of the run and its memory figures.
+     * @throws Exception If a worker fails unexpectedly.
+     */
+    private Map<String, Object> measure(HttpHeaders headers, String prefix) throws Exception {
+        System.gc();
+        var heapPools = new ArrayList<MemoryPoolMXBean>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+            }
+        }
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount -= gc.getCollectionCount();
+            gcMillis -= gc.getCollectionTime();
+        }
+
+        var report = run(headers, prefix, DURATION_SECONDS);
+
+        long peakHeapBytes = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeapBytes += pool.getPeakUsage().getUsed();
+        }
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += gc.getCollectionCount();
+            gcMillis += gc.getCollectionTime();
+        }
+
+        var result = new LinkedHashMap<String, Object>();
+        result.put("load", report);
+        result.put("peakHeapBytes", peakHeapBytes);
+        result.put("gcCount", gcCount);
+        result.put("gcMillis", gcMillis);
+        return result;
+    }
+
+    /**
+     * Drives reads against a stack with the configured number of workers for the given time.
+     *
+     * @param headers The authorization headers of the administrator.
+     * @param prefix The path prefix of the stack's endpoints.
+     * @param seconds The length of the run in seconds.
+     * @return The report of the run.
+     * @throws Exception If a worker fails unexpectedly.
+     */
+    private LoadReport run(HttpHeaders headers, String prefix, int seconds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        var recorders = new ArrayList<LoadRecorder>();
+        var workers = new ArrayList<Future<?>>();
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        try {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                var recorder = new LoadRecorder();
+                recorders.add(recorder);
+                workers.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        sendRandomRequest(headers, prefix, recorder);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        var report = new LoadReport();
+        report.setConcurrency(CONCURRENCY);
+        report.setDurationSeconds(seconds);
+        report.setTotal(LoadRecorder.total(recorders, elapsed));
+        report.setEndpoints(LoadRecorder.merge(recorders, elapsed));
+        return report;
+    }
+
+    /**
+     * Sends one read picked at random: a page of products, the whole catalog, or a user's orders.
+     * The reactive stack is asked for NDJSON so its listings are streamed rather than collected.
+     *
+     * @param headers The authorization headers of the administrator.
+     * @param prefix The path prefix of the stack's endpoints.
+     * @param recorder The recorder of the worker.
+     */
+    private void sendRandomRequest(HttpHeaders headers, String prefix, LoadRecorder recorder) {
+        var random = ThreadLocalRandom.current();
+        int pick = random.nextInt(100);
+        var requestHeaders = new HttpHeaders();
+        requestHeaders.putAll(headers);
+        if (prefix.equals("/api/reactive")) {
+            requestHeaders.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        }
+        var entity = new HttpEntity<>(requestHeaders);
+        if (pick < 50) {
+            send(recorder, "GET /products?after&limit", prefix + "/products?after=" + random.nextInt(PRODUCT_COUNT) + "&limit=50", entity);
+        } else if (pick < 70) {
+            send(recorder, "GET /products", prefix + "/products", entity);
+        } else {
+            send(recorder, "GET /orders?username", prefix + "/orders?username=load-user-" + random.nextInt(USER_COUNT), entity);
+        }
+    }
+
+    /**
+     * Sends a GET request and records its latency and whether it failed.
+     *
+     * @param recorder The recorder of the worker.
+     * @param endpoint The name of the endpoint.
+     * @param path The path and query of the request.
+     * @param entity The request entity.
+     */
+    private void send(LoadRecorder recorder, String endpoint, String path, HttpEntity<?> entity) {
+        long start = System.nanoTime();
+        boolean failed;
+        try {
+            failed = !restTemplate.exchange(getBaseUrl() + path, HttpMethod.GET, entity, String.class).getStatusCode().is2xxSuccessful();
+        } catch (RuntimeException e) {
+            failed = true;
+        }
+        recorder.record(endpoint, System.nanoTime() - start, failed);
+    }
+}
@@ -0,0 +1,67 @@
+package support;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+/**
+ * Test configuration class that runs the application against an embedded MariaDB instance
+ * through both the JDBC data source and the R2DBC connection factory, so the blocking and the
+ * reactive endpoints read the same data.
+ */
+@TestConfiguration
+public class ReactiveTestConfiguration {
+    /**
+     * The embedded database.
+     */
+    private static DB db;
+
+    /**
+     * Starts the embedded database, once per JVM, and points both drivers at it.
+     * Call this from a {@code @DynamicPropertySource} method of the test class.
+     *
+     * @param registry The registry to add the data source and connection factory properties to.
+     * @throws ManagedProcessException If an error occurs while starting the embedded MariaDB instance.
+     */
+    public static synchronized void registerDatabase(DynamicPropertyRegistry registry) throws ManagedProcessException {
+        if (db == null) {
+            var configBuilder = DBConfigurationBuilder.newBuilder();
+            configBuilder.setPort(0);
+
+            db = DB.newEmbeddedDB(configBuilder.build());
+            db.start();
+            db.createDB("test", "root", "");
+        }
+        int port = db.getConfiguration().getPort();
+        registry.add("spring.datasource.url", () -> "jdbc:mariadb://localhost:" + port + "/test");
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.r2dbc.url", () -> "r2dbc:mariadb://localhost:" + port + "/test");
+        registry.add("spring.r2dbc.username", () -> "root");
+        registry.add("spring.r2dbc.password", () -> "");
+    }
+
+    /**
+     * Creates a password encoder bean that does not encode passwords.
+     *
+     * @return The password encoder bean.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+}
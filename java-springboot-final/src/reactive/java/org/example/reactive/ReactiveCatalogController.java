@@ -0,0 +1,81 @@
+package org.example.reactive;
+
+import org.example.models.Order;
+import org.example.models.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+/**
+ * Controller for the reactive read endpoints.
+ * This class serves the same product and order listings as the blocking endpoints, from R2DBC.
+ * Asked for {@code application/x-ndjson}, a listing is streamed one row per line, each written as soon
+ * as it is read and the next one only requested once it is written, so a slow client holds back the
+ * query instead of the whole listing being held in memory. Asked for JSON, the listing is collected first.
+ */
+@RestController
+@Profile("reactive")
+@PreAuthorize("isAuthenticated()")
+@RequestMapping("/api/reactive")
+public class ReactiveCatalogController {
+    /**
+     * The page size used when a page is requested without a limit.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * The largest page size a client may request.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * The reactive product data access object.
+     */
+    @Autowired
+    private ReactiveProductDao reactiveProductDao;
+
+    /**
+     * The reactive order data access object.
+     */
+    @Autowired
+    private ReactiveOrderDao reactiveOrderDao;
+
+    /**
+     * Gets all products, or a single page of products when {@code after} or {@code limit} is given.
+     *
+     * @param after The id of the last product of the previous page.
+     * @param limit The maximum number of products to return.
+     * @return Flux of products, ordered by id.
+     */
+    @GetMapping(path = "/products", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Product> getProducts(@RequestParam(required = false) Integer after,
+                                     @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return reactiveProductDao.getProducts();
+        }
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        return reactiveProductDao.getProductsAfter(after != null ? after : 0, pageSize);
+    }
+
+    /**
+     * Gets all orders, or the orders of one user.
+     *
+     * @param username The username to filter the orders by.
+     * @return Flux of orders, ordered by id.
+     */
+    @GetMapping(path = "/orders", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Order> getOrders(@RequestParam(required = false) String username) {
+        if (username != null) {
+            return reactiveOrderDao.getOrdersByUsername(username);
+        } else {
+            return reactiveOrderDao.getOrders();
+        }
+    }
+}
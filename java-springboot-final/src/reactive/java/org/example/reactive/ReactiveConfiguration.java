@@ -0,0 +1,28 @@
+package org.example.reactive;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Configuration for the reactive read endpoints, active with the {@code reactive} profile.
+ * The pooled R2DBC connection factory is auto-configured from the {@code spring.r2dbc} settings.
+ * Writes, transactions and every other endpoint stay on the JDBC data source, so the R2DBC
+ * transaction manager is excluded and the JDBC one remains the only transaction manager.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class ReactiveConfiguration {
+    /**
+     * Creates the client the reactive DAOs query the database with.
+     *
+     * @param connectionFactory The pooled R2DBC connection factory.
+     * @return The database client.
+     */
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
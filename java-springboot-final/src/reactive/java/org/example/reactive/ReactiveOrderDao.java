@@ -0,0 +1,67 @@
+package org.example.reactive;
+
+import io.r2dbc.spi.Readable;
+import org.example.models.Order;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking data access object for orders, reading through R2DBC instead of JDBC.
+ * Rows are emitted as the driver decodes them and only as fast as the subscriber requests them.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveOrderDao {
+    /**
+     * The R2DBC client for querying the database.
+     */
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Creates a new reactive order data access object.
+     *
+     * @param databaseClient The R2DBC client for the DAO.
+     */
+    public ReactiveOrderDao(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Gets all orders.
+     *
+     * @return Flux of all orders, ordered by id.
+     */
+    public Flux<Order> getOrders() {
+        return databaseClient.sql("SELECT * FROM orders ORDER BY id")
+                .map(this::mapToOrder)
+                .all();
+    }
+
+    /**
+     * Gets orders by username.
+     *
+     * @param username The username of the orders.
+     * @return Flux of the orders with the given username, ordered by id.
+     */
+    public Flux<Order> getOrdersByUsername(String username) {
+        return databaseClient.sql("SELECT * FROM orders WHERE username = :username ORDER BY id")
+                .bind("username", username)
+                .map(this::mapToOrder)
+                .all();
+    }
+
+    /**
+     * Maps a row to an Order object.
+     *
+     * @param row The row to map.
+     * @return The order object.
+     */
+    private Order mapToOrder(Readable row) {
+        return new Order(
+                row.get("id", Integer.class),
+                row.get("username", String.class)
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.reactive;
+
+import io.r2dbc.spi.Readable;
+import org.example.models.Product;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+
+/**
+ * Non-blocking data access object for products, reading through R2DBC instead of JDBC.
+ * Rows are emitted as the driver decodes them and only as fast as the subscriber requests them.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveProductDao {
+    /**
+     * The R2DBC client for querying the database.
+     */
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Creates a new reactive product data access object.
+     *
+     * @param databaseClient The R2DBC client for the DAO.
+     */
+    public ReactiveProductDao(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Gets all products.
+     *
+     * @return Flux of all products, ordered by id.
+     */
+    public Flux<Product> getProducts() {
+        return databaseClient.sql("SELECT * FROM products ORDER BY id")
+                .map(this::mapToProduct)
+                .all();
+    }
+
+    /**
+     * Gets a page of products ordered by id, starting after the given id.
+     *
+     * @param afterId The id of the last product of the previous page (0 for the first page).
+     * @param limit The maximum number of products to return.
+     * @return Flux of at most {@code limit} products with an id greater than {@code afterId}.
+     */
+    public Flux<Product> getProductsAfter(int afterId, int limit) {
+        return databaseClient.sql("SELECT * FROM products WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(this::mapToProduct)
+                .all();
+    }
+
+    /**
+     * Maps a row to a Product object.
+     *
+     * @param row The row to map.
+     * @return The product object.
+     */
+    private Product mapToProduct(Readable row) {
+        return new Product(
+                row.get("id", Integer.class),
+                row.get("name", String.class),
+                row.get("price", BigDecimal.class)
+        );
+    }
+}
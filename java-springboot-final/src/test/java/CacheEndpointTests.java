@@ -0,0 +1,72 @@
+import org.example.SpringBootApplication;
+import org.example.models.CacheStatistics;
+import org.example.models.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import support.FinalTestConfiguration;
+import support.WebStoreTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the cache endpoints.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = SpringBootApplication.class)
+@Import(FinalTestConfiguration.class)
+public class CacheEndpointTests extends WebStoreTest {
+    @Test
+    @DisplayName("GET /api/admin/caches/products should count a hit for a repeated product lookup")
+    public void repeatedProductLookupShouldBeCacheHit() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var before = this.restTemplate.exchange(getBaseUrl() + "/api/admin/caches/products", HttpMethod.GET, requestEntity, CacheStatistics.class).getBody();
+
+        this.restTemplate.exchange(getBaseUrl() + "/api/products/3", HttpMethod.GET, requestEntity, Product.class);
+        this.restTemplate.exchange(getBaseUrl() + "/api/products/3", HttpMethod.GET, requestEntity, Product.class);
+
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/admin/caches/products", HttpMethod.GET, requestEntity, CacheStatistics.class);
+        var after = result.getBody();
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(before.getMissCount() + 1, after.getMissCount());
+        assertEquals(before.getHitCount() + 1, after.getHitCount());
+    }
+
+    @Test
+    @DisplayName("PUT /api/products/3 should refresh the cached product")
+    public void updateShouldRefreshCachedProduct() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        this.restTemplate.exchange(getBaseUrl() + "/api/products/3", HttpMethod.GET, requestEntity, Product.class);
+
+        var updateEntity = GetAuthEntity("test-admin", "admin", new Product(3, "Cherry", new BigDecimal("2.99")));
+        this.restTemplate.exchange(getBaseUrl() + "/api/products/3", HttpMethod.PUT, updateEntity, Product.class);
+
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products/3", HttpMethod.GET, requestEntity, Product.class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(new BigDecimal("2.99"), result.getBody().getPrice());
+    }
+
+    @Test
+    @DisplayName("DELETE /api/products/3 should evict the cached product")
+    public void deleteShouldEvictCachedProduct() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        this.restTemplate.exchange(getBaseUrl() + "/api/products/3", HttpMethod.GET, requestEntity, Product.class);
+        this.restTemplate.exchange(getBaseUrl() + "/api/products/3", HttpMethod.DELETE, requestEntity, Integer.class);
+
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products/3", HttpMethod.GET, requestEntity, Product.class);
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/caches should return a 403 if not an admin")
+    public void getCachesShouldFailIfNotAdmin() {
+        getJdbcTemplate().update("insert into users (username, password) values ('user', 'user')");
+        var requestEntity = GetAuthEntity("user", "user");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/admin/caches", HttpMethod.GET, requestEntity, String.class);
+        assertEquals(HttpStatus.FORBIDDEN, result.getStatusCode());
+    }
+}
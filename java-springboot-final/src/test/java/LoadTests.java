@@ -0,0 +1,270 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.SpringBootApplication;
+import org.example.models.Cart;
+import org.example.models.CartItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import support.FinalTestConfiguration;
+import support.LoadRecorder;
+import support.LoadReport;
+import support.LoadStatistics;
+import support.WebStoreTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test that drives mixed traffic against the application and compares the results
+ * with a stored baseline. Excluded from the default build; run it with {@code mvn -Pload-test test}.
+ * The run can be tuned with the system properties {@code load.concurrency},
+ * {@code load.warmupSeconds}, {@code load.durationSeconds} and {@code load.tolerance}, and the
+ * baseline can be rewritten from the current run with {@code -Dload.updateBaseline=true}.
+ * Adding the {@code virtual-threads} profile runs the same traffic against the virtual-thread
+ * mode, so the comparison shows how it fares against the platform-thread baseline.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = SpringBootApplication.class)
+@Import(FinalTestConfiguration.class)
+public class LoadTests extends WebStoreTest {
+    /**
+     * The number of concurrent workers.
+     */
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 8);
+
+    /**
+     * The length of the warm-up run in seconds, whose results are discarded.
+     */
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 5);
+
+    /**
+     * The length of the measured run in seconds.
+     */
+    private static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 20);
+
+    /**
+     * How far the results may fall behind the baseline, as a fraction, before the test fails.
+     */
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("load.tolerance", "0.25"));
+
+    /**
+     * The number of products in the catalog during the run.
+     */
+    private static final int PRODUCT_COUNT = 1_000;
+
+    /**
+     * The number of orders placed by the load test user before the run.
+     */
+    private static final int ORDER_COUNT = 200;
+
+    /**
+     * Where the report of the run is written.
+     */
+    private static final Path REPORT = Path.of("target", "load-test", "report.json");
+
+    /**
+     * The stored baseline the run is compared with.
+     */
+    private static final Path BASELINE = Path.of("src", "test", "resources", "load-test-baseline.json");
+
+    /**
+     * Whether the application handles requests on virtual threads.
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Test
+    @DisplayName("Mixed traffic should stay within the stored baseline")
+    public void mixedTrafficShouldStayWithinBaseline() throws Exception {
+        seed();
+        var admin = GetAuthEntity("test-admin", "admin").getHeaders();
+        var user = GetAuthEntity("load-user", "user").getHeaders();
+
+        run(admin, user, WARMUP_SECONDS);
+        var report = run(admin, user, DURATION_SECONDS);
+
+        var mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Files.createDirectories(REPORT.getParent());
+        mapper.writeValue(REPORT.toFile(), report);
+        if (Boolean.getBoolean("load.updateBaseline")) {
+            mapper.writeValue(BASELINE.toFile(), report);
+            return;
+        }
+
+        var baseline = mapper.readValue(BASELINE.toFile(), LoadReport.class);
+        var regressions = new ArrayList<String>();
+        compare("total", baseline.getTotal(), report.getTotal(), regressions);
+        for (var entry : baseline.getEndpoints().entrySet()) {
+            var current = report.getEndpoints().get(entry.getKey());
+            if (current == null) {
+                regressions.add(entry.getKey() + ": no requests made");
+            } else {
+                compare(entry.getKey(), entry.getValue(), current, regressions);
+            }
+        }
+        assertTrue(regressions.isEmpty(), "Capacity regressed against " + BASELINE + ": " + regressions);
+    }
+
+    /**
+     * Fills the database with a catalog, a second user and their order history.
+     */
+    private void seed() {
+        var jdbcTemplate = getJdbcTemplate();
+        jdbcTemplate.update("insert into users (username, password) values ('load-user', 'user')");
+
+        var products = new ArrayList<Object[]>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products.add(new Object[]{"Product " + i, 1 + i % 100});
+        }
+        jdbcTemplate.batchUpdate("insert into products (name, price) values (?, ?)", products);
+
+        var orders = new ArrayList<Object[]>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orders.add(new Object[]{"load-user"});
+        }
+        jdbcTemplate.batchUpdate("insert into orders (username) values (?)", orders);
+
+        var orderItems = new ArrayList<Object[]>();
+        for (int orderId = 6; orderId < 6 + ORDER_COUNT; orderId++) {
+            for (int i = 0; i < 3; i++) {
+                orderItems.add(new Object[]{orderId, 1 + (orderId * 3 + i) % PRODUCT_COUNT, 1 + i});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into order_items (order_id, product_id, quantity) values (?, ?, ?)", orderItems);
+    }
+
+    /**
+     * Drives mixed traffic with the configured number of workers for the given time.
+     * Half of the workers act as the administrator and half as the load test user.
+     *
+     * @param admin The authorization headers of the administrator.
+     * @param user The authorization headers of the load test user.
+     * @param seconds The length of the run in seconds.
+     * @return The report of the run.
+     * @throws Exception If a worker fails unexpectedly.
+     */
+    private LoadReport run(HttpHeaders admin, HttpHeaders user, int seconds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        var recorders = new ArrayList<LoadRecorder>();
+        var workers = new ArrayList<Future<?>>();
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        try {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                var recorder = new LoadRecorder();
+                var headers = i % 2 == 0 ? admin : user;
+                var username = i % 2 == 0 ? "test-admin" : "load-user";
+                recorders.add(recorder);
+                workers.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        sendRandomRequest(headers, username, recorder);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        var report = new LoadReport();
+        report.setConcurrency(CONCURRENCY);
+        report.setVirtualThreads(virtualThreads);
+        report.setDurationSeconds(seconds);
+        report.setTotal(LoadRecorder.total(recorders, elapsed));
+        report.setEndpoints(LoadRecorder.merge(recorders, elapsed));
+        return report;
+    }
+
+    /**
+     * Sends one request picked at random from a mix weighted towards catalog reads.
+     *
+     * @param headers The authorization headers of the user.
+     * @param username The name of the user.
+     * @param recorder The recorder of the worker.
+     */
+    private void sendRandomRequest(HttpHeaders headers, String username, LoadRecorder recorder) {
+        var random = ThreadLocalRandom.current();
+        int pick = random.nextInt(100);
+        int productId = 1 + random.nextInt(PRODUCT_COUNT);
+        int orderId = 6 + random.nextInt(ORDER_COUNT);
+        if (pick < 25) {
+            send(recorder, "GET /api/products", HttpMethod.GET,
+                "/api/products?after=" + random.nextInt(PRODUCT_COUNT) + "&limit=50", new HttpEntity<>(headers));
+        } else if (pick < 50) {
+            send(recorder, "GET /api/products/{id}", HttpMethod.GET, "/api/products/" + productId, new HttpEntity<>(headers));
+        } else if (pick < 60) {
+            send(recorder, "GET /api/orders", HttpMethod.GET, "/api/orders?username=" + username, new HttpEntity<>(headers));
+        } else if (pick < 65) {
+            send(recorder, "GET /api/orders/details", HttpMethod.GET,
+                "/api/orders/details?username=" + username + "&limit=20", new HttpEntity<>(headers));
+        } else if (pick < 75) {
+            send(recorder, "GET /api/order-items", HttpMethod.GET, "/api/order-items?orderId=" + orderId, new HttpEntity<>(headers));
+        } else if (pick < 80) {
+            send(recorder, "GET /api/order-items/{id}", HttpMethod.GET,
+                "/api/order-items/" + (6 + random.nextInt(ORDER_COUNT * 3)), new HttpEntity<>(headers));
+        } else if (pick < 95) {
+            send(recorder, "GET /api/profile", HttpMethod.GET, "/api/profile", new HttpEntity<>(headers));
+        } else {
+            var cart = new Cart(List.of(new CartItem(productId, 1 + random.nextInt(3))));
+            send(recorder, "POST /api/orders/checkout", HttpMethod.POST, "/api/orders/checkout", new HttpEntity<>(cart, headers));
+        }
+    }
+
+    /**
+     * Sends a request and records its latency and whether it failed.
+     *
+     * @param recorder The recorder of the worker.
+     * @param endpoint The name of the endpoint.
+     * @param method The HTTP method.
+     * @param path The path and query of the request.
+     * @param entity The request entity.
+     */
+    private void send(LoadRecorder recorder, String endpoint, HttpMethod method, String path, HttpEntity<?> entity) {
+        long start = System.nanoTime();
+        boolean failed;
+        try {
+            failed = !restTemplate.exchange(getBaseUrl() + path, method, entity, String.class).getStatusCode().is2xxSuccessful();
+        } catch (RuntimeException e) {
+            failed = true;
+        }
+        recorder.record(endpoint, System.nanoTime() - start, failed);
+    }
+
+    /**
+     * Compares statistics with their baseline and collects any regressions beyond the tolerance.
+     *
+     * @param name The name of the statistics.
+     * @param baseline The baseline statistics.
+     * @param current The statistics of the current run.
+     * @param regressions The regressions found so far.
+     */
+    private void compare(String name, LoadStatistics baseline, LoadStatistics current, List<String> regressions) {
+        if (current.getThroughput() < baseline.getThroughput() * (1 - TOLERANCE)) {
+            regressions.add(String.format("%s: throughput %.1f/s below baseline %.1f/s", name, current.getThroughput(), baseline.getThroughput()));
+        }
+        if (current.getP99() > baseline.getP99() * (1 + TOLERANCE)) {
+            regressions.add(String.format("%s: p99 %.2fms above baseline %.2fms", name, current.getP99(), baseline.getP99()));
+        }
+        if (current.getErrorRate() > baseline.getErrorRate()) {
+            regressions.add(String.format("%s: error rate %.4f above baseline %.4f", name, current.getErrorRate(), baseline.getErrorRate()));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+import org.example.SpringBootApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import support.FinalTestConfiguration;
+import support.WebStoreTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the actuator endpoints. Metrics export is switched back on, since tests otherwise run without it.
+ */
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = SpringBootApplication.class,
+        properties = "webstore.management.scrape-password=scrape-secret")
+@Import(FinalTestConfiguration.class)
+public class ManagementEndpointTests extends WebStoreTest {
+    @Test
+    @DisplayName("GET /actuator/health should answer without a token and without details")
+    public void healthShouldNotRequireToken() {
+        var result = this.restTemplate.getForEntity(getBaseUrl() + "/actuator/health", String.class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertTrue(result.getBody().contains("\"UP\""));
+        assertFalse(result.getBody().contains("components"));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus should accept the scrape credential")
+    public void prometheusShouldAcceptScrapeCredential() {
+        var result = this.restTemplate.withBasicAuth("prometheus", "scrape-secret").getForEntity(getBaseUrl() + "/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertTrue(result.getBody().contains("http_server_requests"));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus should reject a missing or wrong credential")
+    public void prometheusShouldRejectWrongCredential() {
+        var anonymous = this.restTemplate.getForEntity(getBaseUrl() + "/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.UNAUTHORIZED, anonymous.getStatusCode());
+
+        var wrong = this.restTemplate.withBasicAuth("prometheus", "wrong").getForEntity(getBaseUrl() + "/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.UNAUTHORIZED, wrong.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus should accept an admin token")
+    public void prometheusShouldAcceptAdminToken() {
+        var result = this.restTemplate.exchange(getBaseUrl() + "/actuator/prometheus", HttpMethod.GET, GetAuthEntity("test-admin", "admin"), String.class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("GET /actuator/metrics should not accept the scrape credential")
+    public void metricsShouldRejectScrapeCredential() {
+        var result = this.restTemplate.withBasicAuth("prometheus", "scrape-secret").getForEntity(getBaseUrl() + "/actuator/metrics", String.class);
+        assertEquals(HttpStatus.FORBIDDEN, result.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Basic authentication should not accept the credentials of an application user")
+    public void basicAuthenticationShouldRejectApplicationUser() {
+        var result = this.restTemplate.withBasicAuth("test-admin", "admin").getForEntity(getBaseUrl() + "/actuator/metrics", String.class);
+        assertEquals(HttpStatus.UNAUTHORIZED, result.getStatusCode());
+    }
+}
@@ -1,16 +1,31 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.example.SpringBootApplication;
+import org.example.models.Cart;
+import org.example.models.CartItem;
 import org.example.models.Order;
+import org.example.models.OrderDetails;
+import org.example.models.OrderTotal;
+import org.example.models.Receipt;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import support.FinalTestConfiguration;
 import support.WebStoreTest;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Tests for the order endpoints.
@@ -18,6 +33,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = SpringBootApplication.class)
 @Import(FinalTestConfiguration.class)
 public class OrderEndpointTests extends WebStoreTest {
+    /**
+     * The registry the DAO and endpoint meters are registered with.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     @DisplayName("GET /api/orders should return all orders")
     public void getOrdersShouldReturnAllOrders() {
@@ -44,6 +65,93 @@ public class OrderEndpointTests extends WebStoreTest {
         assertEquals(5, orders[4].getId());
     }
 
+    @Test
+    @DisplayName("GET /api/orders/details should return a page of orders with their items and products")
+    public void getOrderDetailsShouldReturnOrdersWithItems() {
+        getJdbcTemplate().update("insert into order_items (order_id, product_id, quantity) values (2, 5, 7)");
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/orders/details?username=test-admin&after=1&limit=2", HttpMethod.GET, requestEntity, OrderDetails[].class);
+        var responseCode = result.getStatusCode();
+        var orders = result.getBody();
+        assertEquals(HttpStatus.OK, responseCode);
+        assertEquals(2, orders.length);
+        assertEquals(2, orders[0].getId());
+        assertEquals("test-admin", orders[0].getUsername());
+        assertEquals(2, orders[0].getItems().size());
+        assertEquals(2, orders[0].getItems().get(0).getQuantity());
+        assertEquals("Banana", orders[0].getItems().get(0).getProduct().getName());
+        assertEquals(7, orders[0].getItems().get(1).getQuantity());
+        assertEquals(new BigDecimal("3.99"), orders[0].getItems().get(1).getProduct().getPrice());
+        assertEquals(3, orders[1].getId());
+        assertEquals(1, orders[1].getItems().size());
+        assertEquals("Cherry", orders[1].getItems().get(0).getProduct().getName());
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/details should return no orders for an unknown user")
+    public void getOrderDetailsShouldReturnEmptyForUnknownUser() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/orders/details?username=nobody", HttpMethod.GET, requestEntity, OrderDetails[].class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(0, result.getBody().length);
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/export should stream every order with its items as one JSON line each")
+    public void exportShouldStreamOrdersAsNdjson() throws Exception {
+        getJdbcTemplate().update("insert into order_items (order_id, product_id, quantity) values (2, 5, 7)");
+        getJdbcTemplate().update("insert into orders (username) values ('test-admin')");
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/orders/export", HttpMethod.GET, requestEntity, String.class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(result.getHeaders().getContentType()));
+
+        var lines = result.getBody().split("\n");
+        assertEquals(6, lines.length);
+        var mapper = new ObjectMapper();
+        var second = mapper.readValue(lines[1], OrderDetails.class);
+        assertEquals(2, second.getId());
+        assertEquals(2, second.getItems().size());
+        assertEquals("Banana", second.getItems().get(0).getProduct().getName());
+        assertEquals(7, second.getItems().get(1).getQuantity());
+        assertEquals(new BigDecimal("3.99"), second.getItems().get(1).getProduct().getPrice());
+        var last = mapper.readValue(lines[5], OrderDetails.class);
+        assertEquals(6, last.getId());
+        assertEquals(0, last.getItems().size());
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/export should return a 403 if not an admin")
+    public void exportShouldFailIfUserNotAdmin() {
+        getJdbcTemplate().update("insert into users (username, password) values ('user', 'user')");
+        var requestEntity = GetAuthEntity("user", "user");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/orders/export", HttpMethod.GET, requestEntity, String.class);
+        assertEquals(HttpStatus.FORBIDDEN, result.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("GET /api/orders should be timed per DAO method")
+    public void getOrdersShouldRecordMetrics() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        long calls = daoCalls("getOrders");
+        this.restTemplate.exchange(getBaseUrl() + "/api/orders", HttpMethod.GET, requestEntity, Order[].class);
+
+        assertEquals(calls + 1, daoCalls("getOrders"));
+        var daoMetric = this.restTemplate.exchange(getBaseUrl() + "/actuator/metrics/dao.rows?tag=dao:OrderDao&tag=method:getOrders", HttpMethod.GET, requestEntity, String.class);
+        assertEquals(HttpStatus.OK, daoMetric.getStatusCode());
+    }
+
+    /**
+     * Gets how many times an OrderDao method has been timed.
+     *
+     * @param method The name of the method.
+     * @return The number of calls recorded, or 0 if the method has not been called yet.
+     */
+    private long daoCalls(String method) {
+        var timer = meterRegistry.find("dao.calls").tag("dao", "OrderDao").tag("method", method).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
     @Test
     @DisplayName("GET /api/orders/3 should return the third order")
     public void getOrderShouldReturnThirdOrder() {
@@ -56,6 +164,54 @@ public class OrderEndpointTests extends WebStoreTest {
         assertEquals(3, order.getId());
     }
 
+    @Test
+    @DisplayName("GET /api/orders/3 with a matching If-None-Match should return 304")
+    public void getOrderWithMatchingETagShouldReturn304() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var first = this.restTemplate.exchange(getBaseUrl() + "/api/orders/3", HttpMethod.GET, requestEntity, Order.class);
+        var etag = first.getHeaders().getETag();
+        assertTrue(first.getHeaders().getCacheControl().contains("private"));
+
+        var headers = new HttpHeaders();
+        headers.putAll(requestEntity.getHeaders());
+        headers.setIfNoneMatch(etag);
+        var second = this.restTemplate.exchange(getBaseUrl() + "/api/orders/3", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/3/total should return the sum of quantity times price")
+    public void getOrderTotalShouldSumItems() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/orders/3/total", HttpMethod.GET, requestEntity, OrderTotal.class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(3, result.getBody().getOrderId());
+        assertEquals(new BigDecimal("5.97"), result.getBody().getTotal());
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/6/total should return 404")
+    public void getOrderTotalShouldReturn404() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/orders/6/total", HttpMethod.GET, requestEntity, String.class);
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/totals?username=test-admin should return the total of every order, including empty ones")
+    public void getOrderTotalsShouldReturnTotalOfEveryOrder() {
+        getJdbcTemplate().update("insert into orders (username) values ('test-admin')");
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/orders/totals?username=test-admin", HttpMethod.GET, requestEntity, OrderTotal[].class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        var totals = result.getBody();
+        assertEquals(6, totals.length);
+        assertEquals(new BigDecimal("0.99"), totals[0].getTotal());
+        assertEquals(new BigDecimal("1.18"), totals[1].getTotal());
+        assertEquals(new BigDecimal("19.95"), totals[4].getTotal());
+        assertEquals(new BigDecimal("0.00"), totals[5].getTotal());
+    }
+
     @Test
     @DisplayName("GET /api/orders/6 should return 404")
     public void getOrderShouldReturn404() {
@@ -77,6 +233,62 @@ public class OrderEndpointTests extends WebStoreTest {
         assertEquals(6, order.getId());
     }
 
+    @Test
+    @DisplayName("POST /api/orders/checkout should create the order and its items and total them")
+    public void checkoutShouldCreateOrderWithItems() {
+        var cart = new Cart(List.of(new CartItem(1, 2), new CartItem(3, 3)));
+        var requestEntity = GetAuthEntity("test-admin", "admin", cart);
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/orders/checkout", HttpMethod.POST, requestEntity, Receipt.class);
+        var responseCode = result.getStatusCode();
+        var receipt = result.getBody();
+        assertEquals(HttpStatus.CREATED, responseCode);
+        assertEquals(6, receipt.getOrder().getId());
+        assertEquals("test-admin", receipt.getOrder().getUsername());
+        assertEquals(2, receipt.getItems().size());
+        assertEquals(6, receipt.getItems().get(0).getOrderId());
+        assertEquals(1, receipt.getItems().get(0).getProductId());
+        assertEquals(3, receipt.getItems().get(1).getQuantity());
+        assertEquals(new BigDecimal("7.95"), receipt.getTotal());
+        assertEquals(2, getJdbcTemplate().queryForObject("select count(*) from order_items where order_id = 6", Integer.class));
+
+        var metrics = this.restTemplate.exchange(getBaseUrl() + "/actuator/metrics/checkout", HttpMethod.GET, GetAuthEntity("test-admin", "admin"), String.class);
+        assertEquals(HttpStatus.OK, metrics.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("POST /api/orders/checkout with more than 1000 items should return 400 and create nothing")
+    public void checkoutWithTooManyItemsShouldReturn400() {
+        var items = new ArrayList<CartItem>();
+        for (int i = 0; i < 1001; i++) {
+            items.add(new CartItem(1 + i % 5, 1));
+        }
+        var requestEntity = GetAuthEntity("test-admin", "admin", new Cart(items));
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/orders/checkout", HttpMethod.POST, requestEntity, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        assertEquals(5, getJdbcTemplate().queryForObject("select count(*) from orders", Integer.class));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/metrics should return 401 without credentials and 403 if not an admin")
+    public void actuatorShouldRequireAdmin() {
+        var anonymous = this.restTemplate.getForEntity(getBaseUrl() + "/actuator/metrics", String.class);
+        assertEquals(HttpStatus.UNAUTHORIZED, anonymous.getStatusCode());
+
+        getJdbcTemplate().update("insert into users (username, password) values ('user', 'user')");
+        var user = this.restTemplate.exchange(getBaseUrl() + "/actuator/metrics", HttpMethod.GET, GetAuthEntity("user", "user"), String.class);
+        assertEquals(HttpStatus.FORBIDDEN, user.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("POST /api/orders/checkout with an unknown product should return 400 and create nothing")
+    public void checkoutWithUnknownProductShouldReturn400() {
+        var cart = new Cart(List.of(new CartItem(1, 2), new CartItem(99, 1)));
+        var requestEntity = GetAuthEntity("test-admin", "admin", cart);
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/orders/checkout", HttpMethod.POST, requestEntity, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        assertEquals(5, getJdbcTemplate().queryForObject("select count(*) from orders", Integer.class));
+    }
+
     @Test
     @DisplayName("PUT /api/orders/3 should update the third order")
     public void putOrderShouldUpdateThirdOrder() {
@@ -10,6 +10,8 @@ import org.springframework.http.HttpStatus;
 import support.FinalTestConfiguration;
 import support.WebStoreTest;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -90,6 +92,36 @@ public class OrderItemEndpointTests extends WebStoreTest {
         assertEquals(1, orderItem.getQuantity());
     }
 
+    @Test
+    @DisplayName("POST /api/order-items/batch should create all order items")
+    public void postOrderItemBatchShouldCreateAllOrderItems() {
+        var batch = List.of(new OrderItem(0, 1, 2, 3), new OrderItem(0, 1, 3, 1), new OrderItem(0, 2, 4, 2));
+        var requestEntity = GetAuthEntity("test-admin", "admin", batch);
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/order-items/batch", HttpMethod.POST, requestEntity, OrderItem[].class);
+        var responseCode = result.getStatusCode();
+        assertEquals(HttpStatus.CREATED, responseCode);
+        var orderItems = result.getBody();
+        assertEquals(3, orderItems.length);
+        assertEquals(6, orderItems[0].getId());
+        assertEquals(2, orderItems[0].getProductId());
+        assertEquals(7, orderItems[1].getId());
+        assertEquals(3, orderItems[1].getProductId());
+        assertEquals(8, orderItems[2].getId());
+        assertEquals(2, orderItems[2].getOrderId());
+        assertEquals(2, orderItems[2].getQuantity());
+        assertEquals(8, getJdbcTemplate().queryForObject("select count(*) from order_items", Integer.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/order-items/batch should create nothing if one order item is invalid")
+    public void postOrderItemBatchShouldRollBackOnFailure() {
+        var batch = List.of(new OrderItem(0, 1, 2, 3), new OrderItem(0, 1, 99, 1));
+        var requestEntity = GetAuthEntity("test-admin", "admin", batch);
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/order-items/batch", HttpMethod.POST, requestEntity, String.class);
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, result.getStatusCode());
+        assertEquals(5, getJdbcTemplate().queryForObject("select count(*) from order_items", Integer.class));
+    }
+
     @Test
     @DisplayName("PUT /api/orders-items/3 should update the third order item")
     public void putOrderItemShouldUpdateThirdOrderItem() {
@@ -121,6 +153,8 @@ public class OrderItemEndpointTests extends WebStoreTest {
         var affectedRows = result.getBody();
         assertEquals(HttpStatus.OK, responseCode);
         assertEquals(1, affectedRows);
+        assertEquals(0, getJdbcTemplate().queryForObject("select count(*) from order_items where id = 3", Integer.class));
+        assertEquals(1, getJdbcTemplate().queryForObject("select count(*) from products where id = 3", Integer.class));
     }
 
     @Test
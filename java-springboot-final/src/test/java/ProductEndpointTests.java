@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import support.FinalTestConfiguration;
@@ -13,6 +14,9 @@ import support.WebStoreTest;
 import java.math.BigDecimal;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Tests for the product endpoints.
@@ -46,6 +50,45 @@ public class ProductEndpointTests extends WebStoreTest {
         assertEquals(new BigDecimal("3.99"), products[4].getPrice());
     }
 
+    @Test
+    @DisplayName("GET /api/products?after=2&limit=2 should return the page after the second product")
+    public void getProductsAfterShouldReturnPage() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products?after=2&limit=2", HttpMethod.GET, requestEntity, Product[].class);
+        var responseCode = result.getStatusCode();
+        var products = result.getBody();
+        assertEquals(HttpStatus.OK, responseCode);
+        assertEquals(2, products.length);
+        assertEquals(3, products[0].getId());
+        assertEquals("Cherry", products[0].getName());
+        assertEquals(4, products[1].getId());
+        assertEquals("Date", products[1].getName());
+    }
+
+    @Test
+    @DisplayName("GET /api/products?limit=0 should return 400")
+    public void getProductsWithInvalidLimitShouldReturn400() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products?limit=0", HttpMethod.GET, requestEntity, String.class);
+        var responseCode = result.getStatusCode();
+        assertEquals(HttpStatus.BAD_REQUEST, responseCode);
+    }
+
+    @Test
+    @DisplayName("GET /api/products?stream=true should stream all products")
+    public void streamProductsShouldReturnAllProducts() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products?stream=true", HttpMethod.GET, requestEntity, Product[].class);
+        var responseCode = result.getStatusCode();
+        var products = result.getBody();
+        assertEquals(HttpStatus.OK, responseCode);
+        assertEquals(5, products.length);
+        assertEquals("Apple", products[0].getName());
+        assertEquals(new BigDecimal("0.99"), products[0].getPrice());
+        assertEquals("Elderberry", products[4].getName());
+        assertEquals(new BigDecimal("3.99"), products[4].getPrice());
+    }
+
     @Test
     @DisplayName("GET /api/products/3 should return the cherry product")
     public void getProductShouldReturnCherryProduct() {
@@ -79,6 +122,18 @@ public class ProductEndpointTests extends WebStoreTest {
         assertEquals(new BigDecimal("4.99"), createdProduct.getPrice());
     }
 
+    @Test
+    @DisplayName("POST /api/products should return the price as stored by the database")
+    public void postProductShouldReturnStoredPrice() {
+        var requestEntity = GetAuthEntity("test-admin", "admin", new Product(0, "Fig", new BigDecimal("4.995")));
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products", HttpMethod.POST, requestEntity, Product.class);
+        var createdProduct = result.getBody();
+        assertEquals(HttpStatus.CREATED, result.getStatusCode());
+        assertEquals(6, createdProduct.getId());
+        assertEquals(new BigDecimal("5.00"), createdProduct.getPrice());
+        assertEquals(new BigDecimal("5.00"), getJdbcTemplate().queryForObject("select price from products where id = 6", BigDecimal.class));
+    }
+
     @Test
     @DisplayName("PUT /api/products/3 should update the cherry product")
     public void putProductShouldUpdateCherryProduct() {
@@ -119,4 +174,191 @@ public class ProductEndpointTests extends WebStoreTest {
         var responseCode = result.getStatusCode();
         assertEquals(HttpStatus.NOT_FOUND, responseCode);
     }
+
+    @Test
+    @DisplayName("GET /api/products/search?q=cher should find the cherry product by prefix")
+    public void searchShouldMatchPrefix() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products/search?q=cher", HttpMethod.GET, requestEntity, Product[].class);
+        var products = result.getBody();
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(1, products.length);
+        assertEquals("Cherry", products[0].getName());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search?q=bananna should find the banana product despite the typo")
+    public void searchShouldTolerateTypo() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products/search?q=bananna", HttpMethod.GET, requestEntity, Product[].class);
+        var products = result.getBody();
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(1, products.length);
+        assertEquals("Banana", products[0].getName());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search should rank an exact match above a prefix match")
+    public void searchShouldRankExactMatchFirst() {
+        var createEntity = GetAuthEntity("test-admin", "admin", new Product(0, "Date Palm", new BigDecimal("9.99")));
+        this.restTemplate.exchange(getBaseUrl() + "/api/products", HttpMethod.POST, createEntity, Product.class);
+        var createEntity2 = GetAuthEntity("test-admin", "admin", new Product(0, "Dates", new BigDecimal("5.99")));
+        this.restTemplate.exchange(getBaseUrl() + "/api/products", HttpMethod.POST, createEntity2, Product.class);
+
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products/search?q=date", HttpMethod.GET, requestEntity, Product[].class);
+        var products = result.getBody();
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(3, products.length);
+        assertEquals("Date", products[0].getName());
+        assertEquals("Date Palm", products[1].getName());
+        assertEquals("Dates", products[2].getName());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search should reflect updated and deleted products")
+    public void searchShouldFollowWrites() {
+        var updateEntity = GetAuthEntity("test-admin", "admin", new Product(1, "Green Apple", new BigDecimal("0.99")));
+        this.restTemplate.exchange(getBaseUrl() + "/api/products/1", HttpMethod.PUT, updateEntity, Product.class);
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        this.restTemplate.exchange(getBaseUrl() + "/api/products/5", HttpMethod.DELETE, requestEntity, Integer.class);
+
+        var green = this.restTemplate.exchange(getBaseUrl() + "/api/products/search?q=green", HttpMethod.GET, requestEntity, Product[].class).getBody();
+        assertEquals(1, green.length);
+        assertEquals(1, green[0].getId());
+        var elderberry = this.restTemplate.exchange(getBaseUrl() + "/api/products/search?q=elderberry", HttpMethod.GET, requestEntity, Product[].class).getBody();
+        assertEquals(0, elderberry.length);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search?q= should return 400")
+    public void searchWithEmptyQueryShouldReturn400() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products/search?q=", HttpMethod.GET, requestEntity, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("GET /api/products?minPrice=1&maxPrice=3&sort=price&direction=desc should filter and sort by price")
+    public void getProductsFilteredByPriceShouldSortByPrice() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products?minPrice=1&maxPrice=3&sort=price&direction=desc", HttpMethod.GET, requestEntity, Product[].class);
+        var products = result.getBody();
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(2, products.length);
+        assertEquals("Date", products[0].getName());
+        assertEquals("Cherry", products[1].getName());
+    }
+
+    @Test
+    @DisplayName("GET /api/products?namePrefix=B&sort=name should return the products starting with B")
+    public void getProductsByNamePrefixShouldReturnMatches() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products?namePrefix=B&sort=name&limit=10", HttpMethod.GET, requestEntity, Product[].class);
+        var products = result.getBody();
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(1, products.length);
+        assertEquals("Banana", products[0].getName());
+    }
+
+    @Test
+    @DisplayName("GET /api/products?namePrefix=% should treat the wildcard as a literal")
+    public void getProductsByWildcardPrefixShouldReturnNothing() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products?namePrefix={prefix}", HttpMethod.GET, requestEntity, Product[].class, "%");
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(0, result.getBody().length);
+    }
+
+    @Test
+    @DisplayName("GET /api/products?sort=password should return 400")
+    public void getProductsWithUnknownSortShouldReturn400() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products?sort=password", HttpMethod.GET, requestEntity, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/1 with a matching If-None-Match should return 304")
+    public void getProductWithMatchingETagShouldReturn304() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var first = this.restTemplate.exchange(getBaseUrl() + "/api/products/1", HttpMethod.GET, requestEntity, Product.class);
+        var etag = first.getHeaders().getETag();
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertTrue(first.getHeaders().getCacheControl().contains("private"));
+
+        var headers = new HttpHeaders();
+        headers.putAll(requestEntity.getHeaders());
+        headers.setIfNoneMatch(etag);
+        var second = this.restTemplate.exchange(getBaseUrl() + "/api/products/1", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertEquals(etag, second.getHeaders().getETag());
+        assertTrue(second.getHeaders().getCacheControl().contains("private"));
+        assertNull(second.getBody());
+    }
+
+    @Test
+    @DisplayName("GET /api/products with an invalid limit should not be cacheable")
+    public void getProductsWithInvalidLimitShouldNotBeCacheable() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products?limit=0", HttpMethod.GET, requestEntity, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        var cacheControl = result.getHeaders().getCacheControl();
+        assertTrue(cacheControl == null || !cacheControl.contains("max-age=60"));
+    }
+
+    @Test
+    @DisplayName("GET /api/products with the ETag of a listing should return 200 after a product is changed directly in the database")
+    public void getProductsETagShouldChangeAfterWriteOutsideDao() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var first = this.restTemplate.exchange(getBaseUrl() + "/api/products", HttpMethod.GET, requestEntity, Product[].class);
+
+        getJdbcTemplate().update("update products set price = 0.49 where id = 1");
+
+        var headers = new HttpHeaders();
+        headers.putAll(requestEntity.getHeaders());
+        headers.setIfNoneMatch(first.getHeaders().getETag());
+        var changed = this.restTemplate.exchange(getBaseUrl() + "/api/products", HttpMethod.GET, new HttpEntity<>(headers), Product[].class);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertEquals(new BigDecimal("0.49"), changed.getBody()[0].getPrice());
+    }
+
+    @Test
+    @DisplayName("GET /api/products with the ETag of a listing should return 304 until a product changes")
+    public void getProductsETagShouldChangeAfterWrite() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var first = this.restTemplate.exchange(getBaseUrl() + "/api/products?sort=price", HttpMethod.GET, requestEntity, Product[].class);
+        var etag = first.getHeaders().getETag();
+
+        var headers = new HttpHeaders();
+        headers.putAll(requestEntity.getHeaders());
+        headers.setIfNoneMatch(etag);
+        var conditional = new HttpEntity<>(headers);
+        var unchanged = this.restTemplate.exchange(getBaseUrl() + "/api/products?sort=price", HttpMethod.GET, conditional, String.class);
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+
+        var updateEntity = GetAuthEntity("test-admin", "admin", new Product(1, "Apple", new BigDecimal("0.49")));
+        this.restTemplate.exchange(getBaseUrl() + "/api/products/1", HttpMethod.PUT, updateEntity, Product.class);
+
+        var changed = this.restTemplate.exchange(getBaseUrl() + "/api/products?sort=price", HttpMethod.GET, conditional, Product[].class);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+        assertEquals(new BigDecimal("0.49"), changed.getBody()[0].getPrice());
+    }
+
+    @Test
+    @DisplayName("GET /api/products with the ETag of a listing should return 200 after a product is deleted")
+    public void getProductsETagShouldChangeAfterDelete() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var first = this.restTemplate.exchange(getBaseUrl() + "/api/products", HttpMethod.GET, requestEntity, Product[].class);
+
+        this.restTemplate.exchange(getBaseUrl() + "/api/products/5", HttpMethod.DELETE, requestEntity, Integer.class);
+
+        var headers = new HttpHeaders();
+        headers.putAll(requestEntity.getHeaders());
+        headers.setIfNoneMatch(first.getHeaders().getETag());
+        var changed = this.restTemplate.exchange(getBaseUrl() + "/api/products", HttpMethod.GET, new HttpEntity<>(headers), Product[].class);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertEquals(4, changed.getBody().length);
+    }
 }
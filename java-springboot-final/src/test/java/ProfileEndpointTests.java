@@ -0,0 +1,146 @@
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.SpringBootApplication;
+import org.example.daos.OrderDao;
+import org.example.daos.OrderItemDao;
+import org.example.daos.ProductDao;
+import org.example.daos.UserDao;
+import org.example.models.ProfileOverview;
+import org.example.models.UserWithRoles;
+import org.example.services.AsyncDaoFacade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import support.FinalTestConfiguration;
+import support.WebStoreTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the profile endpoints.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = SpringBootApplication.class)
+@Import(FinalTestConfiguration.class)
+public class ProfileEndpointTests extends WebStoreTest {
+    /**
+     * An injected product data access object for use in tests.
+     */
+    @Autowired
+    private ProductDao productDao;
+
+    /**
+     * An injected order data access object for use in tests.
+     */
+    @Autowired
+    private OrderDao orderDao;
+
+    /**
+     * An injected order item data access object for use in tests.
+     */
+    @Autowired
+    private OrderItemDao orderItemDao;
+
+    /**
+     * An injected user data access object for use in tests.
+     */
+    @Autowired
+    private UserDao userDao;
+
+    @Test
+    @DisplayName("GET /api/profile should return the logged in user with their roles")
+    public void getProfileShouldReturnUserWithRoles() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/profile", HttpMethod.GET, requestEntity, UserWithRoles.class);
+        var responseCode = result.getStatusCode();
+        var profile = result.getBody();
+        assertEquals(HttpStatus.OK, responseCode);
+        assertEquals("test-admin", profile.getUsername());
+        assertEquals(List.of("ADMIN"), profile.getRoles());
+    }
+
+    @Test
+    @DisplayName("GET /api/profile/roles should return an empty list for a user without roles")
+    public void getRolesShouldReturnEmptyListWithoutRoles() {
+        getJdbcTemplate().update("insert into users (username, password) values ('user', 'user')");
+        var requestEntity = GetAuthEntity("user", "user");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/profile/roles", HttpMethod.GET, requestEntity, String[].class);
+        var responseCode = result.getStatusCode();
+        var roles = result.getBody();
+        assertEquals(HttpStatus.OK, responseCode);
+        assertEquals(0, roles.length);
+    }
+
+    @Test
+    @DisplayName("GET /api/profile/overview should return the roles and order totals of the logged in user")
+    public void getOverviewShouldReturnRolesAndOrderTotals() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/profile/overview", HttpMethod.GET, requestEntity, ProfileOverview.class);
+        var responseCode = result.getStatusCode();
+        var overview = result.getBody();
+        assertEquals(HttpStatus.OK, responseCode);
+        assertEquals("test-admin", overview.getUsername());
+        assertEquals(List.of("ADMIN"), overview.getRoles());
+        assertEquals(5, overview.getOrders().size());
+        assertEquals(new BigDecimal("19.95"), overview.getOrders().get(4).getTotal());
+    }
+
+    @Test
+    @DisplayName("Calls to the asynchronous DAO facade should fail once it has shut down")
+    public void asyncDaoCallsShouldFailAfterShutdown() {
+        var facade = new AsyncDaoFacade(productDao, orderDao, orderItemDao, userDao, 1, 1, new SimpleMeterRegistry());
+        facade.shutdown();
+        var future = facade.users(dao -> dao.getRoles("test-admin"));
+        assertTrue(future.isCompletedExceptionally());
+        var thrown = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(RejectedExecutionException.class, thrown.getCause());
+    }
+
+    @Test
+    @DisplayName("Calls to the asynchronous DAO facade should run on the caller while its queue is full")
+    public void asyncDaoCallsShouldRunOnCallerWhenQueueFull() throws InterruptedException {
+        var facade = new AsyncDaoFacade(productDao, orderDao, orderItemDao, userDao, 1, 1, new SimpleMeterRegistry());
+        var release = new CountDownLatch(1);
+        try {
+            var running = facade.users(dao -> awaitQuietly(release));
+            var queued = facade.users(dao -> awaitQuietly(release));
+            var overflow = facade.users(dao -> Thread.currentThread().getName());
+            assertTrue(overflow.isDone());
+            assertEquals(Thread.currentThread().getName(), overflow.join());
+
+            release.countDown();
+            running.join();
+            queued.join();
+        } finally {
+            release.countDown();
+            facade.shutdown();
+        }
+    }
+
+    /**
+     * Waits for a latch in a DAO call, giving up after a few seconds so a failed test cannot hang.
+     *
+     * @param latch The latch.
+     * @return Whether the latch was released.
+     */
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
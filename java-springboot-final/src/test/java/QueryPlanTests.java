@@ -0,0 +1,118 @@
+import org.example.SpringBootApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import support.FinalTestConfiguration;
+import support.WebStoreTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that the DAO queries with a WHERE clause are served by an index. The tables and indexes are
+ * built by the application's Flyway migrations, so a missing migration fails this test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = SpringBootApplication.class)
+@Import(FinalTestConfiguration.class)
+public class QueryPlanTests extends WebStoreTest {
+    /**
+     * The DAO queries with a WHERE clause, with sample values in place of their parameters.
+     */
+    private static final List<String> QUERIES = List.of(
+        "SELECT * FROM orders WHERE username = 'user-7'",
+        "SELECT * FROM orders WHERE id > 100 ORDER BY id LIMIT 50",
+        "SELECT * FROM orders WHERE username = 'user-7' AND id > 100 ORDER BY id LIMIT 50",
+        "SELECT * FROM orders WHERE id = 100",
+        "SELECT o.id, o.username, COALESCE(SUM(oi.quantity * p.price), 0) AS total " +
+            "FROM orders o LEFT JOIN order_items oi ON oi.order_id = o.id LEFT JOIN products p ON p.id = oi.product_id " +
+            "WHERE o.id = 100 GROUP BY o.id, o.username",
+        "SELECT o.id, o.username, COALESCE(SUM(oi.quantity * p.price), 0) AS total " +
+            "FROM orders o LEFT JOIN order_items oi ON oi.order_id = o.id LEFT JOIN products p ON p.id = oi.product_id " +
+            "WHERE o.username = 'user-7' GROUP BY o.id, o.username ORDER BY o.id",
+        "SELECT username FROM orders WHERE id = 100",
+        "UPDATE orders SET username = 'user-7' WHERE id = 100",
+        "DELETE FROM orders WHERE id = 100",
+        "SELECT o.username, COUNT(DISTINCT o.id) AS order_count, COALESCE(SUM(oi.quantity * p.price), 0) AS total " +
+            "FROM orders o LEFT JOIN order_items oi ON oi.order_id = o.id LEFT JOIN products p ON p.id = oi.product_id " +
+            "WHERE o.username IN ('user-7', 'user-8') GROUP BY o.username ORDER BY o.username",
+        "SELECT DISTINCT username FROM orders WHERE id IN (100, 101, 102)",
+        "SELECT DISTINCT o.username FROM order_items oi JOIN orders o ON o.id = oi.order_id WHERE oi.product_id = 100",
+        "SELECT * FROM order_items WHERE order_id = 100",
+        "SELECT order_id FROM order_items WHERE id = 100",
+        "SELECT oi.id, oi.order_id, oi.quantity, p.id AS product_id, p.name, p.price " +
+            "FROM order_items oi LEFT JOIN products p ON p.id = oi.product_id " +
+            "WHERE oi.order_id IN (100, 101, 102) ORDER BY oi.order_id, oi.id",
+        "SELECT * FROM order_items WHERE id = 100",
+        "UPDATE order_items SET order_id = 100, product_id = 100, quantity = 1 WHERE id = 100",
+        "DELETE FROM order_items WHERE id = 100",
+        "SELECT * FROM products WHERE id > 100 ORDER BY id LIMIT 50",
+        "SELECT * FROM products WHERE id = 100",
+        "SELECT version FROM catalog_version WHERE id = 1",
+        "SELECT id, price FROM products WHERE id IN (100, 101, 102)",
+        "SELECT * FROM products WHERE 1 = 1 AND price >= 1 AND price <= 2 ORDER BY price ASC, id ASC LIMIT 50",
+        "SELECT * FROM products WHERE 1 = 1 AND name LIKE 'Product 12%' ESCAPE '!' ORDER BY name ASC, id ASC LIMIT 50",
+        "SELECT price FROM products WHERE id = 100",
+        "UPDATE products SET name = 'Product', price = 1.00 WHERE id = 100",
+        "DELETE FROM products WHERE id = 100",
+        "SELECT * FROM users WHERE username = 'user-7'",
+        "SELECT u.username, u.password, r.role FROM users u LEFT JOIN roles r ON r.username = u.username WHERE u.username = 'user-7'",
+        "UPDATE users SET password = 'password' WHERE username = 'user-7'",
+        "DELETE FROM users WHERE username = 'user-7'",
+        "SELECT role FROM roles WHERE username = 'user-7'",
+        "DELETE FROM roles WHERE username = 'user-7' AND role = 'ADMIN'"
+    );
+
+    /**
+     * Fills the tables with enough rows spread over enough users that the optimizer
+     * would rather scan the whole table than use a missing index.
+     */
+    @BeforeEach
+    public void seed() {
+        var jdbcTemplate = getJdbcTemplate();
+        var users = new ArrayList<Object[]>();
+        for (int i = 0; i < 200; i++) {
+            users.add(new Object[]{"user-" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into users (username, password) values (?, 'password')", users);
+        jdbcTemplate.batchUpdate("insert into roles (username, role) values (?, 'USER')", users);
+
+        var products = new ArrayList<Object[]>();
+        for (int i = 0; i < 2_000; i++) {
+            products.add(new Object[]{"Product " + i, 1 + i % 100});
+        }
+        jdbcTemplate.batchUpdate("insert into products (name, price) values (?, ?)", products);
+
+        var orders = new ArrayList<Object[]>();
+        for (int i = 0; i < 2_000; i++) {
+            orders.add(new Object[]{"user-" + i % 200});
+        }
+        jdbcTemplate.batchUpdate("insert into orders (username) values (?)", orders);
+
+        var orderItems = new ArrayList<Object[]>();
+        for (int i = 0; i < 6_000; i++) {
+            orderItems.add(new Object[]{1 + i / 3, 1 + i % 2_000, 1 + i % 5});
+        }
+        jdbcTemplate.batchUpdate("insert into order_items (order_id, product_id, quantity) values (?, ?, ?)", orderItems);
+
+        jdbcTemplate.execute("analyze table users, roles, products, orders, order_items");
+    }
+
+    @Test
+    @DisplayName("No DAO query with a WHERE clause should scan a whole table")
+    public void queriesShouldNotScanWholeTables() {
+        var jdbcTemplate = getJdbcTemplate();
+        var fullScans = new ArrayList<String>();
+        for (String query : QUERIES) {
+            for (var row : jdbcTemplate.queryForList("EXPLAIN " + query)) {
+                if ("ALL".equals(row.get("type"))) {
+                    fullScans.add(row.get("table") + " in " + query);
+                }
+            }
+        }
+        assertTrue(fullScans.isEmpty(), "Full table scans: " + fullScans);
+    }
+}
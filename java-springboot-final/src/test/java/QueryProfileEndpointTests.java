@@ -0,0 +1,104 @@
+import org.example.SpringBootApplication;
+import org.example.models.Order;
+import org.example.models.QueryStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import support.FinalTestConfiguration;
+import support.WebStoreTest;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the query profile endpoints.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = SpringBootApplication.class,
+        properties = "webstore.query-profiler.enabled=true")
+@Import(FinalTestConfiguration.class)
+public class QueryProfileEndpointTests extends WebStoreTest {
+    /**
+     * Discards the statements run while setting up the database.
+     */
+    @BeforeEach
+    public void resetProfile() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        this.restTemplate.exchange(getBaseUrl() + "/api/admin/queries", HttpMethod.DELETE, requestEntity, Void.class);
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/queries should count the executions of a DAO query")
+    public void getQueriesShouldProfileDaoQuery() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        this.restTemplate.exchange(getBaseUrl() + "/api/orders?username=test-admin", HttpMethod.GET, requestEntity, Order[].class);
+        this.restTemplate.exchange(getBaseUrl() + "/api/orders?username=nobody", HttpMethod.GET, requestEntity, Order[].class);
+
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/admin/queries?sort=count&limit=100", HttpMethod.GET, requestEntity, QueryStatistics[].class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        var statistics = Arrays.stream(result.getBody())
+                .filter(s -> s.getFingerprint().equals("SELECT * FROM orders WHERE username = ?"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, statistics.getCount());
+        assertEquals(0, statistics.getRows());
+        assertTrue(statistics.getMaxMillis() <= statistics.getTotalMillis());
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/queries should group statements that only differ in their literals")
+    public void getQueriesShouldGroupLiterals() {
+        getJdbcTemplate().queryForList("select name from products where id = 3 or name = 'Apple'");
+        getJdbcTemplate().queryForList("select   name from products where id = 4 or name = 'It''s'");
+        getJdbcTemplate().queryForList("select name from products where id in (1, 2, 3)");
+        getJdbcTemplate().queryForList("select name from products where id in (4)");
+        getJdbcTemplate().execute("select name from products where id = 5 or name = 'Pear'");
+
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/admin/queries?sort=count&limit=100", HttpMethod.GET, requestEntity, QueryStatistics[].class);
+        var fingerprints = Arrays.stream(result.getBody())
+                .filter(s -> s.getFingerprint().startsWith("select name from products"))
+                .toList();
+        assertEquals(2, fingerprints.size());
+        assertTrue(fingerprints.stream().anyMatch(s -> s.getFingerprint().equals("select name from products where id = ? or name = ?") && s.getCount() == 3));
+        assertTrue(fingerprints.stream().anyMatch(s -> s.getFingerprint().equals("select name from products where id IN (?)") && s.getCount() == 2));
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/queries should count the rows an update affected")
+    public void getQueriesShouldCountAffectedRows() {
+        getJdbcTemplate().update("delete from order_items where order_id in (1, 2)");
+        getJdbcTemplate().execute("delete from order_items where order_id in (3)");
+
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/admin/queries?sort=rows&limit=100", HttpMethod.GET, requestEntity, QueryStatistics[].class);
+        var statistics = Arrays.stream(result.getBody())
+                .filter(s -> s.getFingerprint().equals("delete from order_items where order_id IN (?)"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, statistics.getCount());
+        assertEquals(3, statistics.getRows());
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/queries with an unknown sort should return 400")
+    public void getQueriesWithUnknownSortShouldReturn400() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/admin/queries?sort=price", HttpMethod.GET, requestEntity, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/queries should return 403 if not an admin")
+    public void getQueriesShouldFailIfUserNotAdmin() {
+        getJdbcTemplate().update("insert into users (username, password) values ('user', 'user')");
+        var requestEntity = GetAuthEntity("user", "user");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/admin/queries", HttpMethod.GET, requestEntity, String.class);
+        assertEquals(HttpStatus.FORBIDDEN, result.getStatusCode());
+    }
+}
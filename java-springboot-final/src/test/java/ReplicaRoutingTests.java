@@ -0,0 +1,138 @@
+import org.example.SpringBootApplication;
+import org.example.daos.UserDao;
+import org.example.datasource.ReplicaRoutingDataSource;
+import org.example.models.Cart;
+import org.example.models.CartItem;
+import org.example.models.Order;
+import org.example.models.Product;
+import org.example.models.Receipt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import support.ReplicaTestConfiguration;
+import support.WebStoreTest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for routing reads to a replica.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = SpringBootApplication.class)
+@Import(ReplicaTestConfiguration.class)
+public class ReplicaRoutingTests extends WebStoreTest {
+    /**
+     * An injected transaction manager for use in tests.
+     */
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * An injected user data access object for use in tests.
+     */
+    @Autowired
+    private UserDao userDao;
+
+    @DynamicPropertySource
+    static void registerDatabases(DynamicPropertyRegistry registry) throws Exception {
+        ReplicaTestConfiguration.registerDatabases(registry);
+    }
+
+    /**
+     * Creates the tables on the replica and makes its data differ from the primary's.
+     *
+     * @throws SQLException If an error occurs while setting up the replica.
+     * @throws IOException If an error occurs while reading the database creation script.
+     */
+    @BeforeEach
+    public void setUpReplica() throws SQLException, IOException {
+        var replica = ReplicaTestConfiguration.getReplicaDataSource();
+        createDatabase(replica);
+        var jdbcTemplate = new JdbcTemplate(replica);
+        jdbcTemplate.update("update products set name = 'Replica Apple', price = 9.99 where id = 1");
+        jdbcTemplate.update("delete from orders where id > 2");
+    }
+
+    @Test
+    @DisplayName("GET /api/products should read the products from the replica")
+    public void getProductsShouldReadFromReplica() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products", HttpMethod.GET, requestEntity, Product[].class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("Replica Apple", result.getBody()[0].getName());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/1 should read the product it caches from the primary")
+    public void getProductShouldReadFromPrimary() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/products/1", HttpMethod.GET, requestEntity, Product.class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("Apple", result.getBody().getName());
+    }
+
+    @Test
+    @DisplayName("A role revoked on the primary should stay revoked while the replica still has it")
+    public void revokedRoleShouldStayRevoked() {
+        try {
+            userDao.deleteRole("test-admin", "ADMIN");
+        } finally {
+            ReplicaRoutingDataSource.clearPin();
+        }
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/users", HttpMethod.GET, requestEntity, String.class);
+        assertEquals(HttpStatus.FORBIDDEN, result.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("GET /api/orders should read the orders from the replica")
+    public void getOrdersShouldReadFromReplica() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/orders", HttpMethod.GET, requestEntity, Order[].class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(2, result.getBody().length);
+    }
+
+    @Test
+    @DisplayName("POST /api/orders/checkout should price the cart from the primary")
+    public void checkoutShouldReadPricesFromPrimary() {
+        var cart = new Cart(List.of(new CartItem(1, 2)));
+        var requestEntity = GetAuthEntity("test-admin", "admin", cart);
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/orders/checkout", HttpMethod.POST, requestEntity, Receipt.class);
+        assertEquals(HttpStatus.CREATED, result.getStatusCode());
+        assertEquals(new BigDecimal("1.98"), result.getBody().getTotal());
+    }
+
+    @Test
+    @DisplayName("Reads after a write on the same thread should go to the primary")
+    public void readAfterWriteShouldReadFromPrimary() {
+        var jdbcTemplate = getJdbcTemplate();
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+        try {
+            ReplicaRoutingDataSource.clearPin();
+            assertEquals("Replica Apple", readOnly.execute(status -> jdbcTemplate.queryForObject("select name from products where id = 1", String.class)));
+
+            jdbcTemplate.update("update products set name = 'Primary Apple' where id = 1");
+            assertEquals("Primary Apple", readOnly.execute(status -> jdbcTemplate.queryForObject("select name from products where id = 1", String.class)));
+        } finally {
+            ReplicaRoutingDataSource.clearPin();
+        }
+    }
+}
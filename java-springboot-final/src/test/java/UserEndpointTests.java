@@ -1,13 +1,22 @@
 import org.example.SpringBootApplication;
+import org.example.models.Cart;
+import org.example.models.CartItem;
+import org.example.models.Order;
+import org.example.models.Product;
+import org.example.models.Receipt;
 import org.example.models.User;
+import org.example.models.UserOrderSummary;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.*;
 import support.FinalTestConfiguration;
+import support.LoginRequest;
 import support.WebStoreTest;
+import java.math.BigDecimal;
 import java.sql.SQLException;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -167,6 +176,37 @@ public class UserEndpointTests extends WebStoreTest {
         assertEquals("test", updatedUser.getPassword());
     }
 
+    /**
+     * Tests that updating the password of a missing user returns a 404.
+     */
+    @Test
+    @DisplayName("PUT /api/users/{username}/password should return a 404 if the user does not exist")
+    public void updatePasswordShouldReturn404IfUserMissing() {
+        var requestEntity = GetAuthEntity("test-admin", "admin", "test");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/users/nobody/password", HttpMethod.PUT, requestEntity, String.class);
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+    }
+
+    /**
+     * Tests that updating a user's password evicts the cached principal, so the old
+     * password stops working right away.
+     */
+    @Test
+    @DisplayName("PUT /api/users/{username}/password should invalidate the cached login")
+    public void updatePasswordShouldInvalidateCachedLogin() {
+        getJdbcTemplate().update("insert into users (username, password) values ('user', 'user')");
+        GetAuthEntity("user", "user");
+
+        var requestEntity = GetAuthEntity("test-admin", "admin", "changed");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/users/user/password", HttpMethod.PUT, requestEntity, User.class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+
+        var oldLogin = this.restTemplate.postForEntity(getBaseUrl() + "/auth/login", new LoginRequest("user", "user"), String.class);
+        assertEquals(HttpStatus.UNAUTHORIZED, oldLogin.getStatusCode());
+        var newLogin = this.restTemplate.postForEntity(getBaseUrl() + "/auth/login", new LoginRequest("user", "changed"), String.class);
+        assertEquals(HttpStatus.OK, newLogin.getStatusCode());
+    }
+
     /**
      * Tests that deleting a user fails if not authorized.
      */
@@ -212,4 +252,87 @@ public class UserEndpointTests extends WebStoreTest {
         });
         assertEquals(0, user.size());
     }
+
+    /**
+     * Tests that the order summary of a user counts their orders and sums their totals.
+     */
+    @Test
+    @DisplayName("GET /api/users/{username}/order-summary should return the order count and spend of the user")
+    public void getOrderSummaryShouldReturnCountAndSpend() {
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/users/test-admin/order-summary", HttpMethod.GET, requestEntity, UserOrderSummary.class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(5, result.getBody().getOrderCount());
+        assertEquals(new BigDecimal("40.05"), result.getBody().getTotalSpend());
+    }
+
+    /**
+     * Tests that the order summary of a user follows checkouts and price changes without a rebuild.
+     */
+    @Test
+    @DisplayName("GET /api/users/{username}/order-summary should reflect a checkout and a price change")
+    public void getOrderSummaryShouldFollowWrites() {
+        var checkoutEntity = GetAuthEntity("test-admin", "admin", new Cart(List.of(new CartItem(1, 2))));
+        this.restTemplate.exchange(getBaseUrl() + "/api/orders/checkout", HttpMethod.POST, checkoutEntity, Receipt.class);
+        flushOrderSummaries();
+
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var afterCheckout = this.restTemplate.exchange(getBaseUrl() + "/api/users/test-admin/order-summary", HttpMethod.GET, requestEntity, UserOrderSummary.class);
+        assertEquals(6, afterCheckout.getBody().getOrderCount());
+        assertEquals(new BigDecimal("42.03"), afterCheckout.getBody().getTotalSpend());
+
+        var updateEntity = GetAuthEntity("test-admin", "admin", new Product(1, "Apple", new BigDecimal("1.99")));
+        this.restTemplate.exchange(getBaseUrl() + "/api/products/1", HttpMethod.PUT, updateEntity, Product.class);
+        flushOrderSummaries();
+
+        var afterPriceChange = this.restTemplate.exchange(getBaseUrl() + "/api/users/test-admin/order-summary", HttpMethod.GET, requestEntity, UserOrderSummary.class);
+        assertEquals(6, afterPriceChange.getBody().getOrderCount());
+        assertEquals(new BigDecimal("45.03"), afterPriceChange.getBody().getTotalSpend());
+    }
+
+    /**
+     * Tests that the order summaries of both users follow an order moved between them and then deleted.
+     */
+    @Test
+    @DisplayName("GET /api/users/{username}/order-summary should reflect an order moved to another user and deleted")
+    public void getOrderSummaryShouldFollowMovedAndDeletedOrders() {
+        getJdbcTemplate().update("insert into users (username, password) values ('user', 'user')");
+        var moveEntity = GetAuthEntity("test-admin", "admin", new Order(2, "user"));
+        this.restTemplate.exchange(getBaseUrl() + "/api/orders/2", HttpMethod.PUT, moveEntity, Order.class);
+        flushOrderSummaries();
+
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var adminAfterMove = this.restTemplate.exchange(getBaseUrl() + "/api/users/test-admin/order-summary", HttpMethod.GET, requestEntity, UserOrderSummary.class);
+        assertEquals(4, adminAfterMove.getBody().getOrderCount());
+        assertEquals(new BigDecimal("38.87"), adminAfterMove.getBody().getTotalSpend());
+        var userAfterMove = this.restTemplate.exchange(getBaseUrl() + "/api/users/user/order-summary", HttpMethod.GET, requestEntity, UserOrderSummary.class);
+        assertEquals(1, userAfterMove.getBody().getOrderCount());
+        assertEquals(new BigDecimal("1.18"), userAfterMove.getBody().getTotalSpend());
+
+        this.restTemplate.exchange(getBaseUrl() + "/api/orders/2", HttpMethod.DELETE, requestEntity, Integer.class);
+        flushOrderSummaries();
+
+        var userAfterDelete = this.restTemplate.exchange(getBaseUrl() + "/api/users/user/order-summary", HttpMethod.GET, requestEntity, UserOrderSummary.class);
+        assertEquals(0, userAfterDelete.getBody().getOrderCount());
+        assertEquals(new BigDecimal("0.00"), userAfterDelete.getBody().getTotalSpend());
+    }
+
+    /**
+     * Tests that rebuilding the order summaries picks up rows written outside the application.
+     */
+    @Test
+    @DisplayName("POST /api/users/order-summaries/rebuild should pick up orders written directly to the database")
+    public void rebuildOrderSummariesShouldReadDatabase() {
+        getJdbcTemplate().update("insert into users (username, password) values ('user', 'user')");
+        getJdbcTemplate().update("insert into orders (username) values ('user')");
+        var requestEntity = GetAuthEntity("test-admin", "admin");
+        var result = this.restTemplate.exchange(getBaseUrl() + "/api/users/order-summaries/rebuild", HttpMethod.POST, requestEntity, UserOrderSummary[].class);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        var summaries = result.getBody();
+        assertEquals(2, summaries.length);
+        assertEquals("test-admin", summaries[0].getUsername());
+        assertEquals("user", summaries[1].getUsername());
+        assertEquals(1, summaries[1].getOrderCount());
+        assertEquals(new BigDecimal("0.00"), summaries[1].getTotalSpend());
+    }
 }
@@ -0,0 +1,22 @@
+package org.example.services;
+
+/**
+ * Gives tests access to the parts of {@link UserOrderSummaryView} the application itself does not use.
+ */
+public final class UserOrderSummaryViewHooks {
+    /**
+     * Prevents instantiation.
+     */
+    private UserOrderSummaryViewHooks() {
+    }
+
+    /**
+     * Waits until the maintenance queued on a view so far has been applied.
+     *
+     * @param view The view.
+     * @throws IllegalStateException If the maintenance does not finish in time or the wait is interrupted.
+     */
+    public static void flush(UserOrderSummaryView view) {
+        view.flush();
+    }
+}
@@ -3,13 +3,13 @@ package support;
 import ch.vorburger.exec.ManagedProcessException;
 import ch.vorburger.mariadb4j.DB;
 import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import javax.sql.DataSource;
-
 /**
  * Test configuration class for overriding the data source bean
  * to use an embedded MariaDB instance.
@@ -18,12 +18,14 @@ import javax.sql.DataSource;
 public class FinalTestConfiguration {
     /**
      * Creates a data source bean that uses an embedded MariaDB instance.
+     * The pool is bound to the same {@code spring.datasource.hikari} settings as the application's.
      *
      * @return The data source bean.
      * @throws ManagedProcessException If an error occurs while starting the embedded MariaDB instance.
      */
     @Bean
-    public DataSource dataSource() throws ManagedProcessException {
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource() throws ManagedProcessException {
         var configBuilder = DBConfigurationBuilder.newBuilder();
         configBuilder.setPort(0);
 
@@ -32,6 +34,7 @@ public class FinalTestConfiguration {
         db.createDB("test", "root", "");
 
         return DataSourceBuilder.create()
+            .type(HikariDataSource.class)
             .url("jdbc:mariadb://localhost:" + db.getConfiguration().getPort() + "/test")
             .username("root")
             .build();
@@ -0,0 +1,124 @@
+package support;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Records the latency and outcome of requests made by one load test worker. A recorder is
+ * not thread safe; every worker owns one and the recorders are merged once the run ends.
+ */
+public class LoadRecorder {
+    /**
+     * The latencies in microseconds recorded for each endpoint.
+     */
+    private final Map<String, long[]> latencies = new HashMap<>();
+
+    /**
+     * The number of latencies recorded for each endpoint.
+     */
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    /**
+     * The number of failed requests for each endpoint.
+     */
+    private final Map<String, Integer> errors = new HashMap<>();
+
+    /**
+     * Records a request.
+     *
+     * @param endpoint The name of the endpoint.
+     * @param nanos The latency of the request in nanoseconds.
+     * @param failed Whether the request failed.
+     */
+    public void record(String endpoint, long nanos, boolean failed) {
+        int count = counts.getOrDefault(endpoint, 0);
+        long[] values = latencies.computeIfAbsent(endpoint, key -> new long[1024]);
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+            latencies.put(endpoint, values);
+        }
+        values[count] = nanos / 1_000;
+        counts.put(endpoint, count + 1);
+        if (failed) {
+            errors.merge(endpoint, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Merges the recordings of several workers into per-endpoint statistics.
+     *
+     * @param recorders The recorders of the workers.
+     * @param seconds The length of the run in seconds.
+     * @return The statistics for each endpoint, keyed by endpoint name.
+     */
+    public static Map<String, LoadStatistics> merge(List<LoadRecorder> recorders, double seconds) {
+        Map<String, LoadStatistics> statistics = new TreeMap<>();
+        for (String endpoint : endpoints(recorders)) {
+            statistics.put(endpoint, collect(recorders, endpoint, seconds));
+        }
+        return statistics;
+    }
+
+    /**
+     * Merges the recordings of several workers into statistics over all endpoints.
+     *
+     * @param recorders The recorders of the workers.
+     * @param seconds The length of the run in seconds.
+     * @return The statistics over all endpoints.
+     */
+    public static LoadStatistics total(List<LoadRecorder> recorders, double seconds) {
+        return collect(recorders, null, seconds);
+    }
+
+    /**
+     * Gets the names of all endpoints recorded by any of the recorders.
+     *
+     * @param recorders The recorders.
+     * @return The endpoint names.
+     */
+    private static Iterable<String> endpoints(List<LoadRecorder> recorders) {
+        var names = new TreeSet<String>();
+        for (LoadRecorder recorder : recorders) {
+            names.addAll(recorder.counts.keySet());
+        }
+        return names;
+    }
+
+    /**
+     * Collects the latencies and errors of one endpoint, or of all endpoints, into statistics.
+     *
+     * @param recorders The recorders.
+     * @param endpoint The endpoint, or null for all endpoints.
+     * @param seconds The length of the run in seconds.
+     * @return The statistics.
+     */
+    private static LoadStatistics collect(List<LoadRecorder> recorders, String endpoint, double seconds) {
+        int total = 0;
+        int failed = 0;
+        for (LoadRecorder recorder : recorders) {
+            for (var entry : recorder.counts.entrySet()) {
+                if (endpoint == null || endpoint.equals(entry.getKey())) {
+                    total += entry.getValue();
+                    failed += recorder.errors.getOrDefault(entry.getKey(), 0);
+                }
+            }
+        }
+
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LoadRecorder recorder : recorders) {
+            for (var entry : recorder.counts.entrySet()) {
+                if (endpoint == null || endpoint.equals(entry.getKey())) {
+                    System.arraycopy(recorder.latencies.get(entry.getKey()), 0, merged, offset, entry.getValue());
+                    offset += entry.getValue();
+                }
+            }
+        }
+        Arrays.sort(merged);
+        return LoadStatistics.of(merged, failed, seconds);
+    }
+}
@@ -0,0 +1,123 @@
+package support;
+
+import java.util.Map;
+
+/**
+ * The machine-readable report of a load test run.
+ */
+public class LoadReport {
+    /**
+     * The number of concurrent workers.
+     */
+    private int concurrency;
+
+    /**
+     * Whether the application handled requests on virtual threads.
+     */
+    private boolean virtualThreads;
+
+    /**
+     * The length of the measured run in seconds.
+     */
+    private int durationSeconds;
+
+    /**
+     * The statistics over all endpoints.
+     */
+    private LoadStatistics total;
+
+    /**
+     * The statistics for each endpoint, keyed by endpoint name.
+     */
+    private Map<String, LoadStatistics> endpoints;
+
+    /**
+     * Gets the number of concurrent workers.
+     *
+     * @return The number of concurrent workers.
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Sets the number of concurrent workers.
+     *
+     * @param concurrency The number of concurrent workers.
+     */
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Gets whether the application handled requests on virtual threads.
+     *
+     * @return Whether virtual threads were used.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Sets whether the application handled requests on virtual threads.
+     *
+     * @param virtualThreads Whether virtual threads were used.
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Gets the length of the measured run in seconds.
+     *
+     * @return The length of the run.
+     */
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * Sets the length of the measured run in seconds.
+     *
+     * @param durationSeconds The length of the run.
+     */
+    public void setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * Gets the statistics over all endpoints.
+     *
+     * @return The statistics over all endpoints.
+     */
+    public LoadStatistics getTotal() {
+        return total;
+    }
+
+    /**
+     * Sets the statistics over all endpoints.
+     *
+     * @param total The statistics over all endpoints.
+     */
+    public void setTotal(LoadStatistics total) {
+        this.total = total;
+    }
+
+    /**
+     * Gets the statistics for each endpoint.
+     *
+     * @return The statistics for each endpoint.
+     */
+    public Map<String, LoadStatistics> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Sets the statistics for each endpoint.
+     *
+     * @param endpoints The statistics for each endpoint.
+     */
+    public void setEndpoints(Map<String, LoadStatistics> endpoints) {
+        this.endpoints = endpoints;
+    }
+}
@@ -0,0 +1,202 @@
+package support;
+
+/**
+ * Throughput, latency and error statistics for one endpoint, or for all endpoints, of a load test run.
+ */
+public class LoadStatistics {
+    /**
+     * The number of requests made.
+     */
+    private long requests;
+
+    /**
+     * The number of requests that failed.
+     */
+    private long errors;
+
+    /**
+     * The number of requests completed per second.
+     */
+    private double throughput;
+
+    /**
+     * The fraction of requests that failed.
+     */
+    private double errorRate;
+
+    /**
+     * The median latency in milliseconds.
+     */
+    private double p50;
+
+    /**
+     * The 99th percentile latency in milliseconds.
+     */
+    private double p99;
+
+    /**
+     * The 99.9th percentile latency in milliseconds.
+     */
+    private double p999;
+
+    /**
+     * Creates statistics from recorded latencies.
+     *
+     * @param sortedMicros The latencies in microseconds, sorted in ascending order.
+     * @param errors The number of requests that failed.
+     * @param seconds The length of the run in seconds.
+     * @return The statistics.
+     */
+    public static LoadStatistics of(long[] sortedMicros, long errors, double seconds) {
+        var statistics = new LoadStatistics();
+        statistics.requests = sortedMicros.length;
+        statistics.errors = errors;
+        statistics.throughput = sortedMicros.length / seconds;
+        statistics.errorRate = sortedMicros.length == 0 ? 0 : (double) errors / sortedMicros.length;
+        statistics.p50 = percentile(sortedMicros, 0.5);
+        statistics.p99 = percentile(sortedMicros, 0.99);
+        statistics.p999 = percentile(sortedMicros, 0.999);
+        return statistics;
+    }
+
+    /**
+     * Gets a percentile of sorted latencies using the nearest-rank method.
+     *
+     * @param sortedMicros The latencies in microseconds, sorted in ascending order.
+     * @param percentile The percentile, between 0 and 1.
+     * @return The latency at the percentile in milliseconds.
+     */
+    private static double percentile(long[] sortedMicros, double percentile) {
+        if (sortedMicros.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sortedMicros.length);
+        return sortedMicros[Math.max(rank, 1) - 1] / 1_000.0;
+    }
+
+    /**
+     * Gets the number of requests made.
+     *
+     * @return The number of requests made.
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * Sets the number of requests made.
+     *
+     * @param requests The number of requests made.
+     */
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    /**
+     * Gets the number of requests that failed.
+     *
+     * @return The number of requests that failed.
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Sets the number of requests that failed.
+     *
+     * @param errors The number of requests that failed.
+     */
+    public void setErrors(long errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * Gets the number of requests completed per second.
+     *
+     * @return The throughput.
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * Sets the number of requests completed per second.
+     *
+     * @param throughput The throughput.
+     */
+    public void setThroughput(double throughput) {
+        this.throughput = throughput;
+    }
+
+    /**
+     * Gets the fraction of requests that failed.
+     *
+     * @return The error rate.
+     */
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     * Sets the fraction of requests that failed.
+     *
+     * @param errorRate The error rate.
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Gets the median latency in milliseconds.
+     *
+     * @return The median latency.
+     */
+    public double getP50() {
+        return p50;
+    }
+
+    /**
+     * Sets the median latency in milliseconds.
+     *
+     * @param p50 The median latency.
+     */
+    public void setP50(double p50) {
+        this.p50 = p50;
+    }
+
+    /**
+     * Gets the 99th percentile latency in milliseconds.
+     *
+     * @return The 99th percentile latency.
+     */
+    public double getP99() {
+        return p99;
+    }
+
+    /**
+     * Sets the 99th percentile latency in milliseconds.
+     *
+     * @param p99 The 99th percentile latency.
+     */
+    public void setP99(double p99) {
+        this.p99 = p99;
+    }
+
+    /**
+     * Gets the 99.9th percentile latency in milliseconds.
+     *
+     * @return The 99.9th percentile latency.
+     */
+    public double getP999() {
+        return p999;
+    }
+
+    /**
+     * Sets the 99.9th percentile latency in milliseconds.
+     *
+     * @param p999 The 99.9th percentile latency.
+     */
+    public void setP999(double p999) {
+        this.p999 = p999;
+    }
+}
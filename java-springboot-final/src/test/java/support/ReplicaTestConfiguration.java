@@ -0,0 +1,108 @@
+package support;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import javax.sql.DataSource;
+
+/**
+ * Test configuration class that runs the application against two embedded MariaDB instances,
+ * one as the primary and one as a replica. The instances do not replicate, so a test can tell
+ * which one answered a query by making their data differ.
+ */
+@TestConfiguration
+public class ReplicaTestConfiguration {
+    /**
+     * The embedded primary database.
+     */
+    private static DB primary;
+
+    /**
+     * The embedded replica database.
+     */
+    private static DB replica;
+
+    /**
+     * Starts the embedded databases, once per JVM, and points the application at them.
+     * Call this from a {@code @DynamicPropertySource} method of the test class.
+     *
+     * @param registry The registry to add the data source properties to.
+     * @throws ManagedProcessException If an error occurs while starting an embedded MariaDB instance.
+     */
+    public static synchronized void registerDatabases(DynamicPropertyRegistry registry) throws ManagedProcessException {
+        if (primary == null) {
+            primary = startDatabase();
+            replica = startDatabase();
+        }
+        registry.add("spring.datasource.url", () -> getUrl(primary));
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("webstore.datasource.replica-urls", () -> getUrl(replica));
+    }
+
+    /**
+     * Creates a data source that connects to the replica directly, bypassing the routing.
+     *
+     * @return The replica data source.
+     */
+    public static DataSource getReplicaDataSource() {
+        return DataSourceBuilder.create()
+            .type(SimpleDriverDataSource.class)
+            .url(getUrl(replica))
+            .username("root")
+            .build();
+    }
+
+    /**
+     * Creates a password encoder bean that does not encode passwords.
+     *
+     * @return The password encoder bean.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+
+    /**
+     * Starts an embedded MariaDB instance with an empty test database.
+     *
+     * @return The running instance.
+     * @throws ManagedProcessException If an error occurs while starting the instance.
+     */
+    private static DB startDatabase() throws ManagedProcessException {
+        var configBuilder = DBConfigurationBuilder.newBuilder();
+        configBuilder.setPort(0);
+
+        var db = DB.newEmbeddedDB(configBuilder.build());
+        db.start();
+        db.createDB("test", "root", "");
+        return db;
+    }
+
+    /**
+     * Gets the JDBC URL of the test database of an embedded instance.
+     *
+     * @param db The instance.
+     * @return The JDBC URL.
+     */
+    private static String getUrl(DB db) {
+        return "jdbc:mariadb://localhost:" + db.getConfiguration().getPort() + "/test";
+    }
+}
@@ -1,10 +1,15 @@
 package support;
 
 import org.apache.ibatis.jdbc.ScriptRunner;
+import org.flywaydb.core.Flyway;
+import org.example.services.ProductSearchIndex;
+import org.example.services.UserOrderSummaryView;
+import org.example.services.UserOrderSummaryViewHooks;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -51,6 +56,24 @@ public class WebStoreTest {
     @Autowired
     protected PasswordEncoder passwordEncoder;
 
+    /**
+     * An injected cache manager for use in tests.
+     */
+    @Autowired
+    protected CacheManager cacheManager;
+
+    /**
+     * An injected product search index for use in tests.
+     */
+    @Autowired
+    protected ProductSearchIndex productSearchIndex;
+
+    /**
+     * An injected user order summary view for use in tests.
+     */
+    @Autowired
+    protected UserOrderSummaryView userOrderSummaryView;
+
     /**
      * Gets the base URL for the server.
      *
@@ -60,6 +83,13 @@ public class WebStoreTest {
         return "http://localhost:" + port;
     }
 
+    /**
+     * Waits until the order summary maintenance queued so far has been applied.
+     */
+    protected void flushOrderSummaries() {
+        UserOrderSummaryViewHooks.flush(userOrderSummaryView);
+    }
+
     /**
      * Executes the given SQL statement.
      *
@@ -67,7 +97,8 @@ public class WebStoreTest {
      * @throws SQLException If an error occurs while executing the SQL statement.
      */
     protected void executeSql(String sql) throws SQLException {
-        try(var statement = dataSource.getConnection().createStatement()) {
+        try(var connection = dataSource.getConnection();
+            var statement = connection.createStatement()) {
             statement.execute(sql);
         }
     }
@@ -89,7 +120,31 @@ public class WebStoreTest {
      */
     @BeforeEach
     public void setUp() throws SQLException, IOException {
-        var connection = dataSource.getConnection();
+        // Maintenance queued by the previous test must not read the tables while the script replaces their rows
+        flushOrderSummaries();
+        createDatabase(dataSource);
+
+        // The script replaces every row, so anything cached or indexed from a previous test is stale
+        for (String name : cacheManager.getCacheNames()) {
+            cacheManager.getCache(name).clear();
+        }
+        productSearchIndex.rebuild();
+        userOrderSummaryView.rebuild();
+    }
+
+    /**
+     * Migrates the given data source with the application's Flyway migrations, so the tests run
+     * against the same tables and indexes as production, then runs the database creation script
+     * to replace their rows with the test data.
+     *
+     * @param target The data source to create the tables in.
+     * @throws SQLException If an error occurs while connecting to the database.
+     * @throws IOException If an error occurs while reading the database creation script.
+     */
+    protected void createDatabase(DataSource target) throws SQLException, IOException {
+        Flyway.configure().dataSource(target).load().migrate();
+
+        var connection = target.getConnection();
         var reader = new java.io.InputStreamReader(
             WebStoreTest.class.getResource
             ("/create-database.sql").openStream()
@@ -1,37 +1,11 @@
-drop table if exists order_items, orders, products, roles, users;
-
-create table users (
-    username varchar(255) primary key,
-    password varchar(255)
-);
-
-create table roles (
-    username varchar(255) not null,
-    role varchar(250) not null,
-    primary key (username, role),
-    foreign key (username) references users(username) on delete cascade
-);
-
-create table products (
-    id int primary key auto_increment,
-    name varchar(255),
-    price decimal(10, 2)
-);
-
-create table orders (
-    id int primary key auto_increment,
-    username varchar(255),
-    foreign key (username) references users(username) on delete cascade
-);
-
-create table order_items (
-    id int primary key auto_increment,
-    order_id int,
-    product_id int,
-    quantity int,
-    foreign key (order_id) references orders(id) on delete cascade,
-    foreign key (product_id) references products(id) on delete cascade
-);
+-- Replaces every row with the test data; the tables and indexes come from the Flyway migrations
+set foreign_key_checks = 0;
+truncate table order_items;
+truncate table orders;
+truncate table products;
+truncate table roles;
+truncate table users;
+set foreign_key_checks = 1;
 
 insert into users (username, password) values ('test-admin', 'admin');
 insert into roles (username, role) values ('test-admin', 'ADMIN');